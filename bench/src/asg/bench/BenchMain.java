@@ -0,0 +1,21 @@
+package asg.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Menjalankan seluruh benchmark dengan profiler GC, sehingga alokasi per operasi ({@code gc.alloc.rate.norm})
+ * ikut dilaporkan. Argumen pertama (opsional) adalah regex nama benchmark yang akan dijalankan.
+ */
+public class BenchMain {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "asg\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,55 @@
+package asg.bench;
+
+import asg.struct.Bitboards;
+import asg.struct.Board;
+import asg.struct.PlayerMarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kumpulan posisi tetap untuk benchmark. Posisi dibangkitkan dengan permainan acak dari seed tetap,
+ * sehingga setiap kali benchmark dijalankan posisi yang diukur selalu sama.
+ */
+public final class BenchPositions {
+    public static final int ROUNDS = 28;
+    public static final int POSITIONS_PER_PHASE = 8;
+    private static final long SEED = 0x5EED_AD1AL;
+
+    private BenchPositions() {
+    }
+
+    /**
+     * Tahap permainan beserta banyak langkah yang sudah dimainkan dari posisi awal.
+     */
+    public enum Phase {
+        OPENING(2),
+        MIDDLEGAME(24),
+        ENDGAME(44);
+
+        final int pliesPlayed;
+
+        Phase(int pliesPlayed) {
+            this.pliesPlayed = pliesPlayed;
+        }
+    }
+
+    /**
+     * Membangkitkan posisi-posisi untuk suatu tahap permainan.
+     *
+     * @param phase Tahap permainan.
+     * @return Array berisi {@code POSITIONS_PER_PHASE} posisi.
+     */
+    public static Board[] of(Phase phase) {
+        Board[] positions = new Board[POSITIONS_PER_PHASE];
+        for (int i = 0; i < POSITIONS_PER_PHASE; i++) {
+            SplittableRandom random = new SplittableRandom(SEED + 31L * phase.ordinal() + i);
+            Board board = Board.initial(PlayerMarks.X, ROUNDS);
+            for (int ply = 0; ply < phase.pliesPlayed; ply++) {
+                long empty = board.getEmptyMask();
+                board.act(Bitboards.coordinateOf(Bitboards.nthSquare(empty, random.nextInt(Long.bitCount(empty)))));
+            }
+            positions[i] = board;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,96 @@
+package asg.bench;
+
+import asg.algorithm.Minimax;
+import asg.struct.Bitboards;
+import asg.struct.Board;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark operasi dasar {@code Board}. Setiap pemanggilan berpindah ke posisi dan langkah berikutnya
+ * agar hasil tidak bergantung pada satu posisi saja.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchPositions.Phase phase;
+
+    private Board[] positions;
+    private byte[][] moves;
+    private final byte[] buffer = new byte[Bitboards.SQUARE_COUNT];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.positions = BenchPositions.of(this.phase);
+        this.moves = new byte[this.positions.length][];
+        for (int i = 0; i < this.positions.length; i++) {
+            byte[] empty = new byte[Bitboards.SQUARE_COUNT];
+            int count = this.positions[i].getEmptySquares(empty);
+            this.moves[i] = Arrays.copyOf(empty, count);
+        }
+    }
+
+    private Board nextPosition() {
+        this.cursor++;
+        return this.positions[this.cursor % this.positions.length];
+    }
+
+    private byte nextMove() {
+        byte[] candidates = this.moves[this.cursor % this.positions.length];
+        return candidates[(this.cursor / this.positions.length) % candidates.length];
+    }
+
+    @Benchmark
+    public Board copy() {
+        return new Board(this.nextPosition());
+    }
+
+    @Benchmark
+    public Board copyAndAct() {
+        Board board = new Board(this.nextPosition());
+        board.act(this.nextMove());
+        return board;
+    }
+
+    @Benchmark
+    public long makeUndo() {
+        Board board = this.nextPosition();
+        board.make(this.nextMove());
+        long hash = board.zobristHash();
+        board.undo();
+        return hash;
+    }
+
+    @Benchmark
+    public int heuristic() {
+        Board board = this.nextPosition();
+        return board.heuristic(this.nextMove());
+    }
+
+    @Benchmark
+    public List<Byte> emptySquaresList() {
+        return this.nextPosition().getEmptySquares();
+    }
+
+    @Benchmark
+    public int emptySquaresBuffer() {
+        return this.nextPosition().getEmptySquares(this.buffer);
+    }
+
+    @Benchmark
+    public void generateNextBoardStates(Blackhole blackhole) {
+        Map<Byte, Board> boards = Minimax.generateNextBoardStates(this.nextPosition());
+        blackhole.consume(boards);
+    }
+}
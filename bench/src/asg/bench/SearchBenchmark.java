@@ -0,0 +1,61 @@
+package asg.bench;
+
+import asg.algorithm.SearchEngine;
+import asg.struct.Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark pencarian Minimax dengan kedalaman tetap pada satu thread.
+ * Selain banyak pencarian per detik, benchmark ini melaporkan banyak simpul per detik melalui counter {@code nodes}.
+ * Alpha-beta biasa dan Principal Variation Search diukur pada posisi yang sama.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchPositions.Phase phase;
+
+    @Param({"4", "6"})
+    public int depth;
+
+    @Param({"false", "true"})
+    public boolean principalVariation;
+
+    private final SearchEngine engine = new SearchEngine(1, 8);
+    private Board[] positions;
+    private int cursor;
+
+    /**
+     * Counter tambahan yang dinormalisasi terhadap waktu oleh JMH, sehingga dilaporkan sebagai simpul per detik.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.nodes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.positions = BenchPositions.of(this.phase);
+        this.engine.setPrincipalVariationSearch(this.principalVariation);
+    }
+
+    @Benchmark
+    public byte fixedDepthSearch(Nodes counters) {
+        Board board = this.positions[this.cursor++ % this.positions.length];
+        byte move = this.engine.startSearch(board, () -> false, Math.min(this.depth, board.getPliesLeft()));
+        counters.nodes += this.engine.getNodeCount();
+        return move;
+    }
+}
@@ -0,0 +1,59 @@
+package asg.bot;
+
+import asg.bench.BenchPositions;
+import asg.struct.Board;
+import asg.struct.Individual;
+import asg.struct.SearchTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark evaluasi fitness satu generasi Genetic Algorithm. Kelas ini berada pada paket {@code asg.bot}
+ * agar dapat memanggil method {@code protected} milik bot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchPositions.Phase phase;
+
+    private final BotGeneticAlgorithm bot = new BotGeneticAlgorithm();
+    private final SearchTree reservationTree = new SearchTree();
+    private Board[] positions;
+    private List<List<Individual>> generations;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.positions = BenchPositions.of(this.phase);
+        this.generations = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(0);
+        for (Board position : this.positions) {
+            this.generations.add(this.bot.generateNewGeneration(position, random));
+        }
+    }
+
+    /**
+     * Mengukur penyimpanan aksi seluruh individu ke pohon, evaluasi Minimax, dan perhitungan nilai fitness.
+     */
+    @Benchmark
+    public SearchTree fitnessEvaluation() {
+        int index = this.cursor++ % this.positions.length;
+        List<Individual> generation = this.generations.get(index);
+
+        this.reservationTree.clear();
+        this.bot.evaluateGeneration(this.reservationTree, this.positions[index], generation);
+        for (Individual individual : generation) {
+            individual.calcFitnessValue(this.reservationTree);
+        }
+        return this.reservationTree;
+    }
+}
@@ -0,0 +1,73 @@
+package asg.bot;
+
+import asg.Vars;
+import asg.bench.BenchPositions;
+import asg.struct.BeamGraph;
+import asg.struct.Board;
+import asg.struct.SearchTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark pengembangan lapisan beam Local Search. Kelas ini berada pada paket {@code asg.bot}
+ * agar dapat memanggil method {@code protected} milik bot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalBenchmark {
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public BenchPositions.Phase phase;
+
+    @Param({"1", "2", "3"})
+    public int layers;
+
+    private final BotLocal bot = new BotLocal();
+    private final BotLocal mergingBot = new BotLocal(Vars.SEARCH_THREAD_COUNT, Vars.LOCAL_BEAM_WIDTH, true);
+    private final SearchTree localTree = new SearchTree();
+    private final BeamGraph beamGraph = new BeamGraph();
+    private Board[] positions;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.positions = BenchPositions.of(this.phase);
+    }
+
+    /**
+     * Mengukur pengembangan {@code layers} lapisan beam pertama dari akar.
+     */
+    @Benchmark
+    public SearchTree beamLayers() {
+        Board board = this.positions[this.cursor++ % this.positions.length];
+
+        this.localTree.clear();
+        int[] beamNodes = new int[this.bot.getBeamWidth()];
+        Board[] beamBoards = new Board[this.bot.getBeamWidth()];
+        beamNodes[0] = SearchTree.ROOT;
+        beamBoards[0] = board;
+        int beamSize = 1;
+        for (int i = 0; i < Math.min(this.layers, board.getPliesLeft()); i++) {
+            beamSize = this.bot.expandLayer(this.localTree, board, beamNodes, beamBoards, beamSize);
+        }
+        return this.localTree;
+    }
+
+    /**
+     * Mengukur pengembangan {@code layers} lapisan beam pertama dari akar pada mode penggabungan transposisi.
+     */
+    @Benchmark
+    public BeamGraph mergedBeamLayers() {
+        Board board = this.positions[this.cursor++ % this.positions.length];
+
+        this.beamGraph.clear(board);
+        for (int i = 0; i < Math.min(this.layers, board.getPliesLeft()); i++) {
+            this.mergingBot.expandMergedLayer(this.beamGraph, board.getCurrentPlayer());
+        }
+        return this.beamGraph;
+    }
+}
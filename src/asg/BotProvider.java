@@ -14,7 +14,8 @@ public class BotProvider {
 //            {"Greedy (test)", BotGreedy.class},
             {"Minimax Bot", BotMinimax.class},
             {"Local Search Bot", BotLocal.class},
-            {"Genetic Algorithm Bot", BotGeneticAlgorithm.class}
+            {"Genetic Algorithm Bot", BotGeneticAlgorithm.class},
+            {"Monte Carlo Tree Search Bot", BotMonteCarlo.class}
     }).collect(HashMap::new, (map, val) -> {
         map.put((String) val[0], (Class<? extends BotBase>) val[1]);
         keys.add((String) val[0]);
@@ -4,4 +4,20 @@ public class Vars {
     public static final int BOARD_ROW_COUNT = 8;
     public static final int BOARD_COL_COUNT = 8;
     public static final double MOVE_MAX_TIME = 5.0;
+    public static final int TRANSPOSITION_TABLE_SIZE_MB = 32;
+    public static final boolean PONDERING = Boolean.parseBoolean(System.getProperty("asg.ponder", "true"));
+    public static final boolean PRINCIPAL_VARIATION_SEARCH = Boolean.parseBoolean(System.getProperty("asg.search.pvs", "false"));
+    public static final boolean SYMMETRIC_HASHING = Boolean.parseBoolean(System.getProperty("asg.search.symmetry", "false"));
+    public static final int ENDGAME_SOLVER_PLIES = Integer.getInteger("asg.endgame.plies", 7);
+    public static final int ENDGAME_TRANSPOSITION_TABLE_SIZE_MB = 4;
+    public static final String OPENING_BOOK_PATH = System.getProperty("asg.book", "resources/opening.book");
+    public static final int SEARCH_THREAD_COUNT = Math.max(1, Integer.getInteger("asg.search.threads", Runtime.getRuntime().availableProcessors()));
+    public static final int LOCAL_BEAM_WIDTH = Math.max(1, Integer.getInteger("asg.local.beam", 500));
+    public static final boolean LOCAL_BEAM_TRANSPOSITIONS = Boolean.parseBoolean(System.getProperty("asg.local.transpositions", "false"));
+    public static final double MCTS_EXPLORATION = Double.parseDouble(System.getProperty("asg.mcts.exploration", "0.7"));
+    public static final int MCTS_PLAYOUT_SAMPLES = Math.max(1, Integer.getInteger("asg.mcts.samples", 2));
+    public static final int MCTS_TREE_MAX_NODES = Integer.getInteger("asg.mcts.tree.nodes", 2_000_000);
+    public static final int GENETIC_ISLAND_COUNT = Math.max(1, Integer.getInteger("asg.ga.islands", 1));
+    public static final String GENETIC_MIGRATION_TOPOLOGY = System.getProperty("asg.ga.topology", "ring");
+    public static final int GENETIC_TREE_MAX_NODES = Integer.getInteger("asg.ga.tree.nodes", 1_000_000);
 }
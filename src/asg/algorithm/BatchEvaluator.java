@@ -0,0 +1,147 @@
+package asg.algorithm;
+
+import asg.struct.*;
+
+import java.util.Arrays;
+
+/**
+ * Evaluasi daun secara batch untuk Local Search dan Genetic Algorithm. Posisi dikemas pada array-array primitif
+ * paralel (bitboard pemain yang memegang giliran dan bitboard lawannya), lalu dinilai sekaligus dalam satu loop
+ * tanpa objek {@code Board}, tanpa hash Zobrist, dan tanpa riwayat undo.
+ * <p>
+ * Method statis {@link #scoreMoves} dan {@link #scoreLeaves} adalah kernel evaluasinya. Instance kelas ini
+ * mengumpulkan daun pohon pencarian yang berubah ke dalam array-array yang dipakai ulang, lalu menilai seluruhnya
+ * dengan satu panggilan kernel; satu instance hanya dipakai oleh satu thread dalam satu waktu.
+ */
+public class BatchEvaluator {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private int[] leafNodes = new int[DEFAULT_CAPACITY];
+    private long[] leafOwnBits = new long[DEFAULT_CAPACITY];
+    private long[] leafOpponentBits = new long[DEFAULT_CAPACITY];
+    private int[] leafScores = new int[DEFAULT_CAPACITY];
+    private int leafCount;
+
+    /**
+     * Menilai aksi ke-{@code from} hingga sebelum ke-{@code to}. Aksi ke-i dilakukan pada kotak {@code squares[i]}
+     * dari posisi ke-{@code origins[i]}, yang keadaannya adalah {@code movers[origins[i]]} (markah pemain yang
+     * memegang giliran) dan {@code opponents[origins[i]]} (markah lawannya).
+     * @param movers Bitboard pemain yang memegang giliran pada setiap posisi.
+     * @param opponents Bitboard lawan pada setiap posisi.
+     * @param origins Posisi asal setiap aksi.
+     * @param squares Indeks kotak kosong setiap aksi menurut {@code Bitboards}.
+     * @param flips Keluaran: bitboard markah lawan yang berpindah karena setiap aksi.
+     * @param scores Keluaran: selisih skor setelah setiap aksi dari sudut pandang pemain yang melakukan aksi.
+     * @param from Indeks aksi pertama.
+     * @param to Indeks setelah aksi terakhir.
+     */
+    public static void scoreMoves(long[] movers, long[] opponents, int[] origins, byte[] squares,
+                                  long[] flips, int[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int origin = origins[i];
+            long opponent = opponents[origin];
+            long flipped = Bitboards.neighbors(squares[i]) & opponent;
+            flips[i] = flipped;
+            // Kotak yang diisi menambah satu markah, dan setiap markah yang berpindah mengubah selisih sebanyak dua
+            scores[i] = Long.bitCount(movers[origin]) - Long.bitCount(opponent) + 1 + 2 * Long.bitCount(flipped);
+        }
+    }
+
+    /**
+     * Menilai posisi ke-{@code from} hingga sebelum ke-{@code to} sebagai daun, yaitu selisih banyak markah.
+     * @param ownBits Bitboard pemain yang dinilai pada setiap posisi.
+     * @param opponentBits Bitboard lawannya pada setiap posisi.
+     * @param scores Keluaran: nilai setiap posisi dari sudut pandang pemain yang dinilai.
+     * @param from Indeks posisi pertama.
+     * @param to Indeks setelah posisi terakhir.
+     */
+    public static void scoreLeaves(long[] ownBits, long[] opponentBits, int[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            scores[i] = Long.bitCount(ownBits[i]) - Long.bitCount(opponentBits[i]);
+        }
+    }
+
+    /**
+     * Mengevaluasi ulang hanya bagian pohon yang berubah seperti {@code Minimax.evaluateChangedTree}, tetapi daun
+     * yang berubah dikumpulkan terlebih dahulu lalu dinilai sekaligus dengan {@link #scoreLeaves}, dan papan
+     * disimulasikan langsung pada bitboard selama penelusuran.
+     * @param tree Pohon pencarian yang sebagian simpulnya berubah.
+     * @param node Indeks simpul yang dievaluasi.
+     * @param board Kondisi papan pada simpul; papan tidak diubah.
+     * @param searchingPlayer Player yang sedang melakukan pencarian.
+     * @param isMax Status apakah simpul merupakan simpul maksimal atau minimal.
+     */
+    public void evaluateChangedTree(SearchTree tree, int node, Board board, PlayerMarks searchingPlayer, boolean isMax) {
+        this.clear();
+        this.collectChangedLeaves(tree, node, board, searchingPlayer);
+        this.scoreCollectedLeaves(tree);
+        Minimax.backupChangedTree(tree, node, isMax);
+    }
+
+    /**
+     * Menghapus seluruh daun yang sudah dikumpulkan.
+     */
+    public void clear() {
+        this.leafCount = 0;
+    }
+
+    /**
+     * Mengumpulkan daun yang belum memiliki nilai pada bagian pohon yang berubah di bawah suatu simpul.
+     * @param tree Pohon pencarian yang sebagian simpulnya berubah.
+     * @param node Indeks simpul awal.
+     * @param board Kondisi papan pada simpul; papan tidak diubah.
+     * @param searchingPlayer Player yang sedang melakukan pencarian.
+     */
+    public void collectChangedLeaves(SearchTree tree, int node, Board board, PlayerMarks searchingPlayer) {
+        boolean searchingIsX = searchingPlayer == PlayerMarks.X;
+        long own = searchingIsX ? board.getPlayerXMask() : board.getPlayerOMask();
+        long opponent = searchingIsX ? board.getPlayerOMask() : board.getPlayerXMask();
+        this.collectChangedLeaves(tree, node, own, opponent, board.getCurrentPlayer() == searchingPlayer);
+    }
+
+    private void collectChangedLeaves(SearchTree tree, int node, long own, long opponent, boolean ownToMove) {
+        if (tree.hasScore(node)) return;
+
+        if (!tree.hasChildren(node)) {
+            this.addLeaf(node, own, opponent);
+            return;
+        }
+
+        for (int child = tree.getFirstChild(node); child != SearchTree.NONE; child = tree.getNextSibling(child)) {
+            if (tree.hasScore(child)) continue;
+            int square = Bitboards.indexOf(tree.getMove(child));
+            if (ownToMove) {
+                long flipped = Bitboards.neighbors(square) & opponent;
+                this.collectChangedLeaves(tree, child, own | 1L << square | flipped, opponent & ~flipped, false);
+            } else {
+                long flipped = Bitboards.neighbors(square) & own;
+                this.collectChangedLeaves(tree, child, own & ~flipped, opponent | 1L << square | flipped, true);
+            }
+        }
+    }
+
+    private void addLeaf(int node, long own, long opponent) {
+        if (this.leafCount == this.leafNodes.length) {
+            int capacity = this.leafCount * 2;
+            this.leafNodes = Arrays.copyOf(this.leafNodes, capacity);
+            this.leafOwnBits = Arrays.copyOf(this.leafOwnBits, capacity);
+            this.leafOpponentBits = Arrays.copyOf(this.leafOpponentBits, capacity);
+            this.leafScores = Arrays.copyOf(this.leafScores, capacity);
+        }
+        this.leafNodes[this.leafCount] = node;
+        this.leafOwnBits[this.leafCount] = own;
+        this.leafOpponentBits[this.leafCount] = opponent;
+        this.leafCount++;
+    }
+
+    /**
+     * Menilai seluruh daun yang sudah dikumpulkan sekaligus, lalu menyimpan nilainya ke pohon.
+     * @param tree Pohon tempat daun-daun tersebut dikumpulkan.
+     */
+    public void scoreCollectedLeaves(SearchTree tree) {
+        scoreLeaves(this.leafOwnBits, this.leafOpponentBits, this.leafScores, 0, this.leafCount);
+        for (int i = 0; i < this.leafCount; i++) {
+            tree.setScore(this.leafNodes[i], this.leafScores[i]);
+        }
+    }
+}
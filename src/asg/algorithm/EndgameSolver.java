@@ -0,0 +1,248 @@
+package asg.algorithm;
+
+import asg.struct.*;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pemecah akhir permainan yang menghitung selisih skor akhir secara eksak untuk beberapa ply terakhir.
+ * <p>
+ * Berbeda dengan {@code SearchEngine}, pemecah ini tidak memakai iterative deepening maupun objek {@code Board}:
+ * pencarian negamax alpha-beta dilakukan langsung pada bitboard milik pemain yang memegang giliran dan lawannya,
+ * sehingga make/unmake hanya berupa operasi bit pada variabel lokal tanpa alokasi. Pemecah memiliki tabel
+ * transposisi kecilnya sendiri yang dipakai ulang selama permainan.
+ * <p>
+ * Satu pemecah hanya menjalankan satu pencarian dalam satu waktu.
+ */
+public class EndgameSolver {
+    // Tabel transposisi dan pengurutan berdasarkan balasan lawan hanya dipakai jika sisa ply cukup banyak,
+    // karena simpul di dekat daun lebih murah dicari ulang daripada disimpan atau diurutkan
+    private static final int TRANSPOSITION_MIN_PLIES = 3;
+    private static final int REPLY_ORDERING_MIN_PLIES = 4;
+    // Penanda penghentian hanya diperiksa sekali setiap sekian simpul
+    private static final int INTERRUPT_CHECK_MASK = 1023;
+    private static final byte NO_MOVE = -1;
+
+    private final TranspositionTable transpositionTable;
+
+    // Buffer kotak dan prioritasnya untuk setiap sisa ply, agar pencarian tidak mengalokasikan objek
+    private final int[][] squareBuffers = new int[Bitboards.SQUARE_COUNT + 1][Bitboards.SQUARE_COUNT];
+    private final int[][] priorityBuffers = new int[Bitboards.SQUARE_COUNT + 1][Bitboards.SQUARE_COUNT];
+
+    private BooleanSupplier interrupt;
+    private boolean interrupted;
+    // Dibaca thread lain tanpa sinkronisasi sebagai perkiraan (untuk batas simpul)
+    private long nodes;
+
+    /**
+     * Membuat pemecah akhir permainan dengan tabel transposisinya sendiri.
+     *
+     * @param transpositionTableSizeMb Ukuran tabel transposisi dalam megabyte.
+     */
+    public EndgameSolver(int transpositionTableSizeMb) {
+        this.transpositionTable = new TranspositionTable(transpositionTableSizeMb);
+    }
+
+    /**
+     * Mencari langkah terbaik hingga akhir permainan. Jika pencarian dihentikan sebelum selesai, langkah terbaik
+     * di antara langkah akar yang sudah selesai dicari dikembalikan, atau langkah pertama jika belum ada.
+     *
+     * @param board     Kondisi terkini papan permainan; papan tidak diubah.
+     * @param interrupt Penanda penghentian pencarian.
+     * @return Langkah terbaik beserta selisih skor akhir dari sudut pandang pemain yang memegang giliran.
+     * @throws IllegalArgumentException Jika papan sudah berada pada keadaan akhir.
+     */
+    public ActionNode solve(Board board, BooleanSupplier interrupt) {
+        if (board.isTerminal()) throw new IllegalArgumentException("Board is already terminal");
+
+        boolean isX = board.getCurrentPlayer() == PlayerMarks.X;
+        long own = isX ? board.getPlayerXMask() : board.getPlayerOMask();
+        long opponent = isX ? board.getPlayerOMask() : board.getPlayerXMask();
+        int plies = board.getPliesLeft();
+
+        this.interrupt = interrupt;
+        this.interrupted = false;
+        this.nodes = 0;
+        this.transpositionTable.newSearch();
+
+        int count = this.generateMoves(own, opponent, plies, this.transpositionTable.probe(hashOf(own, opponent, plies)));
+        int[] squares = this.squareBuffers[plies];
+        int bestScore = Integer.MIN_VALUE;
+        int bestSquare = this.selectSquare(plies, 0, count);
+        for (int i = 0; i < count; i++) {
+            int square = this.selectSquare(plies, i, count);
+            long bit = 1L << square;
+            long flipped = Bitboards.neighbors(square) & opponent;
+
+            // Jendela (bestScore, +inf) cukup, karena hanya langkah yang lebih baik yang perlu skor eksak
+            int alpha = bestScore == Integer.MIN_VALUE ? -Bitboards.SQUARE_COUNT - 1 : bestScore;
+            int score = -this.negamax(opponent & ~flipped, own | bit | flipped, plies - 1, -Bitboards.SQUARE_COUNT - 1, -alpha);
+            if (this.interrupted) break;
+            if (score > bestScore) {
+                bestScore = score;
+                bestSquare = squares[i];
+            }
+        }
+
+        if (!this.interrupted) {
+            this.transpositionTable.store(hashOf(own, opponent, plies), plies, TranspositionTable.BOUND_EXACT,
+                    bestScore, Bitboards.coordinateOf(bestSquare));
+        }
+        return new ActionNode(bestScore == Integer.MIN_VALUE ? null : bestScore, Bitboards.coordinateOf(bestSquare));
+    }
+
+    /**
+     * Mengembalikan banyak simpul yang dikunjungi sejak awal pencarian terakhir.
+     * Nilai ini dapat dibaca ketika pencarian sedang berjalan.
+     *
+     * @return Banyak simpul yang dikunjungi.
+     */
+    public long getNodeCount() {
+        return this.nodes;
+    }
+
+    /**
+     * Pencarian negamax alpha-beta fail-soft dengan jendela terbuka (alpha, beta).
+     *
+     * @param own      Markah pemain yang memegang giliran.
+     * @param opponent Markah lawan.
+     * @param plies    Sisa ply permainan.
+     * @return Selisih skor akhir dari sudut pandang pemain yang memegang giliran.
+     */
+    private int negamax(long own, long opponent, int plies, int alpha, int beta) {
+        long count = ++this.nodes;
+        if ((count & INTERRUPT_CHECK_MASK) == 0 && this.interrupt.getAsBoolean()) this.interrupted = true;
+        if (this.interrupted) return 0;
+
+        long empty = ~(own | opponent);
+        if (plies == 0 || empty == 0) return Long.bitCount(own) - Long.bitCount(opponent);
+
+        // Pada ply terakhir, langkah terbaik adalah langkah yang membalik markah lawan paling banyak
+        if (plies == 1) {
+            int maxFlips = 0;
+            for (; empty != 0; empty &= empty - 1) {
+                maxFlips = Math.max(maxFlips, Long.bitCount(Bitboards.neighbors(Long.numberOfTrailingZeros(empty)) & opponent));
+            }
+            return Long.bitCount(own) - Long.bitCount(opponent) + 1 + 2 * maxFlips;
+        }
+
+        long key = 0, entry = 0;
+        if (plies >= TRANSPOSITION_MIN_PLIES) {
+            key = hashOf(own, opponent, plies);
+            entry = this.transpositionTable.probe(key);
+            if (entry != 0) {
+                int score = TranspositionTable.scoreOf(entry);
+                switch (TranspositionTable.boundOf(entry)) {
+                    case TranspositionTable.BOUND_EXACT -> {
+                        return score;
+                    }
+                    case TranspositionTable.BOUND_LOWER -> alpha = Math.max(alpha, score);
+                    case TranspositionTable.BOUND_UPPER -> beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) return score;
+            }
+        }
+
+        int moveCount = this.generateMoves(own, opponent, plies, entry);
+        int originalAlpha = alpha;
+        int bestScore = Integer.MIN_VALUE;
+        int bestSquare = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int square = this.selectSquare(plies, i, moveCount);
+            long bit = 1L << square;
+            long flipped = Bitboards.neighbors(square) & opponent;
+
+            int score = -this.negamax(opponent & ~flipped, own | bit | flipped, plies - 1, -beta, -alpha);
+            if (this.interrupted) return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                bestSquare = square;
+                if (score > alpha) alpha = score;
+                if (alpha >= beta) break;
+            }
+        }
+
+        if (plies >= TRANSPOSITION_MIN_PLIES) {
+            int bound = bestScore <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                    : bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                    : TranspositionTable.BOUND_EXACT;
+            this.transpositionTable.store(key, plies, bound, bestScore, Bitboards.coordinateOf(bestSquare));
+        }
+        return bestScore;
+    }
+
+    /**
+     * Mengisi buffer kotak untuk sisa ply yang diberikan dengan semua kotak kosong beserta prioritasnya.
+     * Langkah terbaik dari tabel transposisi diperiksa paling awal. Langkah lainnya diurutkan menurut banyak markah
+     * lawan yang dibalik, dikurangi (jika sisa ply cukup banyak) banyak markah terbanyak yang dapat dibalik kembali
+     * oleh balasan lawan, sehingga langkah yang memberi lawan sedikit peluang balasan diperiksa lebih dulu.
+     *
+     * @return Banyak kotak yang dituliskan ke buffer.
+     */
+    private int generateMoves(long own, long opponent, int plies, long entry) {
+        int[] squares = this.squareBuffers[plies];
+        int[] priorities = this.priorityBuffers[plies];
+        long empty = ~(own | opponent);
+        byte transpositionMove = entry != 0 ? TranspositionTable.moveOf(entry) : NO_MOVE;
+
+        int count = 0;
+        for (long remaining = empty; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            long bit = 1L << square;
+            long flipped = Bitboards.neighbors(square) & opponent;
+
+            int priority;
+            if (Bitboards.coordinateOf(square) == transpositionMove) {
+                priority = Integer.MAX_VALUE;
+            } else if (plies >= REPLY_ORDERING_MIN_PLIES) {
+                long ownAfter = own | bit | flipped;
+                int maxReply = 0;
+                for (long replies = empty & ~bit; replies != 0; replies &= replies - 1) {
+                    maxReply = Math.max(maxReply, Long.bitCount(Bitboards.neighbors(Long.numberOfTrailingZeros(replies)) & ownAfter));
+                }
+                priority = 2 * Long.bitCount(flipped) - maxReply;
+            } else {
+                priority = Long.bitCount(flipped);
+            }
+            squares[count] = square;
+            priorities[count] = priority;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Memilih kotak dengan prioritas tertinggi di antara kotak ke-{@code index} hingga terakhir dan menukarnya
+     * ke posisi {@code index}.
+     *
+     * @return Kotak pada posisi {@code index} setelah pemilihan.
+     */
+    private int selectSquare(int plies, int index, int count) {
+        int[] squares = this.squareBuffers[plies];
+        int[] priorities = this.priorityBuffers[plies];
+
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (priorities[i] > priorities[best]) best = i;
+        }
+        if (best != index) {
+            int square = squares[best];
+            int priority = priorities[best];
+            squares[best] = squares[index];
+            priorities[best] = priorities[index];
+            squares[index] = square;
+            priorities[index] = priority;
+        }
+        return squares[index];
+    }
+
+    /**
+     * Menghitung hash posisi dari kedua bitboard dan sisa ply dengan fungsi pencampur 64-bit (finalizer SplitMix64).
+     */
+    private static long hashOf(long own, long opponent, int plies) {
+        long hash = own * 0x9E3779B97F4A7C15L + Long.rotateLeft(opponent, 29) * 0xC2B2AE3D27D4EB4FL + plies;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,67 @@
+package asg.algorithm;
+
+/**
+ * Kumpulan counter statistik pencarian. Setiap pekerja memiliki counter-nya sendiri yang hanya ditulis oleh
+ * thread pekerja tersebut, sehingga penghitungan cukup berupa penambahan field biasa tanpa sinkronisasi.
+ */
+final class SearchCounters {
+    // Banyak simpul dibaca thread lain tanpa sinkronisasi sebagai perkiraan (untuk batas simpul)
+    long nodes;
+    long leaves;
+    long transpositionProbes;
+    long transpositionHits;
+    long transpositionStores;
+    long cutoffs;
+    long firstMoveCutoffs;
+    long bestMoveHits;
+    // Pencarian ulang dengan jendela penuh setelah pencarian jendela nol (PVS) atau jendela aspirasi gagal
+    long researches;
+    long aspirationFails;
+
+    void reset() {
+        this.nodes = this.leaves = 0;
+        this.transpositionProbes = this.transpositionHits = this.transpositionStores = 0;
+        this.cutoffs = this.firstMoveCutoffs = this.bestMoveHits = 0;
+        this.researches = this.aspirationFails = 0;
+    }
+
+    void add(SearchCounters other) {
+        this.nodes += other.nodes;
+        this.leaves += other.leaves;
+        this.transpositionProbes += other.transpositionProbes;
+        this.transpositionHits += other.transpositionHits;
+        this.transpositionStores += other.transpositionStores;
+        this.cutoffs += other.cutoffs;
+        this.firstMoveCutoffs += other.firstMoveCutoffs;
+        this.bestMoveHits += other.bestMoveHits;
+        this.researches += other.researches;
+        this.aspirationFails += other.aspirationFails;
+    }
+
+    SearchCounters copy() {
+        SearchCounters copy = new SearchCounters();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Mengembalikan selisih counter ini terhadap salinan yang diambil sebelumnya.
+     *
+     * @param start Salinan counter pada awal rentang yang diukur.
+     * @return Counter yang terjadi sejak {@code start}.
+     */
+    SearchCounters since(SearchCounters start) {
+        SearchCounters delta = this.copy();
+        delta.nodes -= start.nodes;
+        delta.leaves -= start.leaves;
+        delta.transpositionProbes -= start.transpositionProbes;
+        delta.transpositionHits -= start.transpositionHits;
+        delta.transpositionStores -= start.transpositionStores;
+        delta.cutoffs -= start.cutoffs;
+        delta.firstMoveCutoffs -= start.firstMoveCutoffs;
+        delta.bestMoveHits -= start.bestMoveHits;
+        delta.researches -= start.researches;
+        delta.aspirationFails -= start.aspirationFails;
+        return delta;
+    }
+}
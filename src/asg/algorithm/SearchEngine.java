@@ -0,0 +1,422 @@
+package asg.algorithm;
+
+import asg.Vars;
+import asg.struct.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Mesin pencarian Minimax alpha-beta. Setiap mesin memiliki tabel transposisi, buffer, thread pembantu,
+ * dan statistiknya sendiri, sehingga beberapa mesin dapat mencari secara bersamaan dalam satu proses
+ * tanpa saling mengganggu. Satu mesin hanya menjalankan satu pencarian dalam satu waktu.
+ */
+public class SearchEngine {
+    // Setengah lebar awal jendela aspirasi; jendela diperlebar dua kali lipat setiap kali skor jatuh di luar jendela
+    private static final int ASPIRATION_WINDOW = 2;
+    private static final int ASPIRATION_MAX_WINDOW = 16;
+
+    private final TranspositionTable transpositionTable;
+    private final SearchWorker[] workers;
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+    private ThreadPoolExecutor helperPool;
+    private volatile boolean principalVariationSearch = Vars.PRINCIPAL_VARIATION_SEARCH;
+
+    // Pencarian pada giliran lawan (pondering) berjalan pada thread tersendiri
+    private final Object ponderLock = new Object();
+    private ThreadPoolExecutor ponderExecutor;
+    private Future<?> ponderTask;
+    private volatile boolean ponderStopped;
+
+    // Akar pencarian terakhir, untuk memeriksa apakah isi tabel transposisi masih berasal dari permainan yang sama
+    private long lastRootOccupied;
+    private int lastRootPliesLeft = -1;
+    private PlayerMarks lastSearchingPlayer;
+
+    // Statistik iterasi thread utama pada pencarian yang sedang berjalan
+    private int depthReached;
+    private final long[] iterationNodes = new long[Bitboards.SQUARE_COUNT + 1];
+    private long lastIterationNanos;
+    private double branchingFactor;
+    private volatile SearchReport lastReport;
+
+    /**
+     * Membuat mesin pencarian dengan banyak thread dan ukuran tabel transposisi bawaan
+     * ({@code Vars.SEARCH_THREAD_COUNT} dan {@code Vars.TRANSPOSITION_TABLE_SIZE_MB}).
+     */
+    public SearchEngine() {
+        this(Vars.SEARCH_THREAD_COUNT, Vars.TRANSPOSITION_TABLE_SIZE_MB);
+    }
+
+    /**
+     * Membuat mesin pencarian dengan tabel transposisi dan pekerja miliknya sendiri.
+     *
+     * @param threadCount Banyak thread pencarian, termasuk thread pemanggil.
+     * @param transpositionTableSizeMb Ukuran tabel transposisi dalam megabyte.
+     * @throws IllegalArgumentException Jika {@code threadCount} tidak bernilai positif.
+     */
+    public SearchEngine(int threadCount, int transpositionTableSizeMb) {
+        if (threadCount <= 0) throw new IllegalArgumentException("Thread count must be positive");
+        SearchEvents.preload();
+
+        this.transpositionTable = new TranspositionTable(transpositionTableSizeMb);
+        this.workers = new SearchWorker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            this.workers[i] = new SearchWorker(i, this.transpositionTable);
+        }
+    }
+
+    /**
+     * Melakukan pencarian IDS untuk mencari langkah terbaik dalam beberapa iterasi dengan kedalaman yang berbeda,
+     * Mengembalikan langkah terbaik yang ditemukan apabila ditemukan langkah paling minimum atau ketika waktu yang disediakan telah habis.
+     * Jika mesin ini memiliki lebih dari satu thread, thread pembantu ikut mencari dari akar yang sama dengan
+     * kedalaman dan urutan langkah yang berbeda, berbagi tabel transposisi dengan thread utama (Lazy SMP).
+     * Langkah yang dikembalikan selalu berasal dari iterasi thread utama.
+     * Statistik setiap iterasi dan seluruh pencarian dilaporkan kepada {@code SearchListener} dan sebagai event JFR.
+     * @param board Kondisi terkini papan permainan.
+     * @param interrupt Timer untuk penghitungan waktu pencarian solusi.
+     * @param maxDepth Kedalaman pohon yang dihitung dari pilihan banyaknya ronde permainan.
+     * @return Langkah terbaik yang ditemukan.
+     */
+    public byte startSearch(Board board, BooleanSupplier interrupt, int maxDepth) {
+        return this.startSearch(board, interrupt, null, maxDepth);
+    }
+
+    /**
+     * Melakukan pencarian IDS seperti {@link #startSearch(Board, BooleanSupplier, int)}, dengan pengatur waktu yang
+     * menentukan apakah iterasi berikutnya masih sempat diselesaikan sebelum tenggat keras.
+     * @param board Kondisi terkini papan permainan.
+     * @param interrupt Penanda penghentian pencarian secara paksa.
+     * @param timeManager Pengatur waktu langkah ini, atau {@code null} jika pencarian hanya dibatasi oleh {@code interrupt}.
+     * @param maxDepth Kedalaman pohon yang dihitung dari pilihan banyaknya ronde permainan.
+     * @return Langkah terbaik yang ditemukan.
+     */
+    public byte startSearch(Board board, BooleanSupplier interrupt, TimeManager timeManager, int maxDepth) {
+        // Pondering tidak dapat dimulai kembali selama pencarian berjalan
+        synchronized (this.ponderLock) {
+            this.stopPondering();
+            return this.search(board, interrupt, timeManager, maxDepth);
+        }
+    }
+
+    private synchronized byte search(Board board, BooleanSupplier interrupt, TimeManager timeManager, int maxDepth) {
+        SearchEvents.Search event = new SearchEvents.Search();
+        event.begin();
+        long startTime = System.nanoTime();
+
+        this.prepareTranspositionTable(board, board.getCurrentPlayer());
+        for (SearchWorker worker : this.workers) {
+            worker.counters.reset();
+            worker.principalVariation = this.principalVariationSearch;
+            worker.ageHistory();
+        }
+        this.depthReached = 0;
+        Arrays.fill(this.iterationNodes, 0);
+        this.lastIterationNanos = 0;
+        this.branchingFactor = 0;
+
+        // Jalankan thread pembantu yang berhenti ketika thread utama selesai
+        AtomicBoolean mainDone = new AtomicBoolean(false);
+        BooleanSupplier helperInterrupt = () -> mainDone.get() || interrupt.getAsBoolean();
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < this.workers.length; i++) {
+            SearchWorker worker = this.workers[i];
+            Board helperBoard = new Board(board);
+            BooleanSupplier workerInterrupt = worker.pollingInterrupt(helperInterrupt);
+            helpers.add(this.getHelperPool().submit(() -> this.iterativeDeepening(worker, helperBoard, workerInterrupt, null, maxDepth)));
+        }
+
+        ActionNode result;
+        try {
+            // Pencarian mengubah papan secara langsung dengan make/undo, jadi gunakan salinan papan
+            SearchWorker mainWorker = this.workers[0];
+            result = this.iterativeDeepening(mainWorker, new Board(board), mainWorker.pollingInterrupt(interrupt), timeManager, maxDepth);
+        } finally {
+            mainDone.set(true);
+            for (Future<?> helper : helpers) {
+                try {
+                    helper.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        }
+
+        SearchCounters total = new SearchCounters();
+        for (SearchWorker worker : this.workers) {
+            total.add(worker.counters);
+        }
+        SearchReport report = SearchReport.of(this.depthReached, this.depthReached == maxDepth, this.workers.length,
+                result.action, result.evaluationScore, total, this.branchingFactor, System.nanoTime() - startTime);
+        this.lastReport = report;
+        SearchEvents.commit(event, report);
+        for (SearchListener listener : this.listeners) {
+            listener.onSearchComplete(report);
+        }
+
+        return result.action;
+    }
+
+    /**
+     * Menjalankan iterative deepening untuk satu pekerja dengan kedalaman bertambah satu setiap iterasi.
+     * Pekerja utama memulai dari kedalaman 1, sedangkan pekerja pembantu bernomor ganjil memulai satu tingkat lebih dalam
+     * dan pekerja pembantu bernomor genap dua tingkat lebih dalam, agar pekerja tidak mencari kedalaman yang sama secara
+     * bersamaan.
+     * Hasil iterasi yang terhenti di tengah jalan tidak pernah menggantikan hasil iterasi yang sudah selesai.
+     * @param worker Pekerja yang menjalankan pencarian.
+     * @param board Salinan papan milik pekerja ini.
+     * @param interrupt Penanda penghentian pencarian.
+     * @param timeManager Pengatur waktu untuk memutuskan apakah iterasi berikutnya dimulai, atau {@code null}.
+     * @param maxDepth Kedalaman maksimum pencarian.
+     * @return Hasil iterasi terdalam yang selesai, atau hasil sementara jika belum ada iterasi yang selesai.
+     */
+    private ActionNode iterativeDeepening(SearchWorker worker, Board board, BooleanSupplier interrupt,
+                                          TimeManager timeManager, int maxDepth) {
+        ActionNode result = null, previousResult = null;
+        int initialDepth = worker.id == 0 ? 1 : 1 + 2 - worker.id % 2;
+        for (int depth = Math.min(maxDepth, initialDepth); depth <= maxDepth; depth++) {
+            // Skor berselang-seling antara kedalaman ganjil dan genap, jadi jendela aspirasi dipusatkan pada
+            // skor iterasi dua tingkat sebelumnya jika ada
+            ActionNode guess = previousResult != null ? previousResult : result;
+            ActionNode currentResult = this.findOne(worker, board, interrupt, depth, guess);
+            if (interrupt.getAsBoolean()) {
+                if (result == null) result = currentResult;
+                break;
+            }
+            previousResult = result;
+            result = currentResult;
+
+            // Jangan memulai iterasi yang diperkirakan tidak selesai sebelum tenggat keras
+            if (timeManager != null && depth < maxDepth
+                    && !timeManager.canStartIteration(this.lastIterationNanos, this.branchingFactor, 1)) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Menjalankan satu iterasi pekerja. Untuk thread utama, statistik iterasi dilaporkan kepada pendengar dan JFR.
+     * Faktor percabangan efektif dihitung per ply terhadap iterasi selesai dua tingkat sebelumnya (atau satu tingkat
+     * jika belum ada), agar tidak terpengaruh perbedaan ukuran pohon antara kedalaman ganjil dan genap.
+     */
+    private ActionNode findOne(SearchWorker worker, Board board, BooleanSupplier interrupt, int depth, ActionNode guess) {
+        if (worker.id != 0) return this.aspirationSearch(worker, board, interrupt, depth, guess);
+
+        SearchEvents.Iteration event = new SearchEvents.Iteration();
+        event.begin();
+        long startTime = System.nanoTime();
+        SearchCounters start = worker.counters.copy();
+
+        ActionNode result = this.aspirationSearch(worker, board, interrupt, depth, guess);
+
+        SearchCounters counters = worker.counters.since(start);
+        boolean completed = !interrupt.getAsBoolean();
+        int baseDepth = depth >= 2 && this.iterationNodes[depth - 2] > 0 ? depth - 2 : depth - 1;
+        double branchingFactor = baseDepth > 0 && this.iterationNodes[baseDepth] > 0
+                ? Math.pow((double) counters.nodes / this.iterationNodes[baseDepth], 1.0 / (depth - baseDepth))
+                : Math.pow(counters.nodes, 1.0 / depth);
+        long elapsed = System.nanoTime() - startTime;
+        if (completed) {
+            this.depthReached = depth;
+            this.iterationNodes[depth] = counters.nodes;
+            this.lastIterationNanos = elapsed;
+            this.branchingFactor = branchingFactor;
+        }
+
+        SearchReport report = SearchReport.of(depth, completed, 1, result.action, result.evaluationScore,
+                counters, branchingFactor, elapsed);
+        SearchEvents.commit(event, report);
+        for (SearchListener listener : this.listeners) {
+            listener.onIteration(report);
+        }
+        return result;
+    }
+
+    /**
+     * Menjalankan satu iterasi pekerja. Pada mode Principal Variation Search, iterasi dimulai dengan jendela aspirasi
+     * di sekitar skor tebakan dari iterasi sebelumnya, lalu diulang dengan jendela yang diperlebar selama skornya jatuh di luar
+     * jendela. Tanpa iterasi sebelumnya atau di luar mode tersebut, iterasi memakai jendela penuh.
+     */
+    private ActionNode aspirationSearch(SearchWorker worker, Board board, BooleanSupplier interrupt, int depth, ActionNode guessResult) {
+        if (!worker.principalVariation || guessResult == null) {
+            return worker.findOne(board, interrupt, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        int guess = guessResult.evaluationScore;
+        int lowerWindow = ASPIRATION_WINDOW, upperWindow = ASPIRATION_WINDOW;
+        while (true) {
+            int alpha = lowerWindow > ASPIRATION_MAX_WINDOW ? Integer.MIN_VALUE : guess - lowerWindow;
+            int beta = upperWindow > ASPIRATION_MAX_WINDOW ? Integer.MAX_VALUE : guess + upperWindow;
+            ActionNode result = worker.findOne(board, interrupt, depth, alpha, beta);
+            if (interrupt.getAsBoolean()) return result;
+
+            // Hanya sisi jendela yang gagal yang diperlebar
+            if (result.evaluationScore < alpha) {
+                lowerWindow *= 2;
+            } else if (result.evaluationScore > beta) {
+                upperWindow *= 2;
+            } else {
+                return result;
+            }
+            worker.counters.aspirationFails++;
+        }
+    }
+
+    /**
+     * Memulai pencarian di latar belakang selama giliran lawan (pondering). Semua balasan lawan dari posisi yang
+     * diberikan dicari dari sudut pandang pemain yang baru saja melangkah, sehingga tabel transposisi sudah terisi
+     * ketika langkah lawan datang dan pencarian berikutnya dapat mencapai kedalaman yang lebih dalam.
+     * Pondering berhenti dengan sendirinya ketika {@link #startSearch} dipanggil.
+     *
+     * @param board Posisi setelah langkah bot ini, dengan lawan yang mendapat giliran.
+     */
+    public void startPondering(Board board) {
+        if (board.isTerminal()) return;
+
+        synchronized (this.ponderLock) {
+            this.stopPondering();
+            Board ponderBoard = new Board(board);
+            this.ponderStopped = false;
+            this.ponderTask = this.getPonderExecutor().submit(() -> this.ponder(ponderBoard));
+        }
+    }
+
+    /**
+     * Menghentikan pondering yang sedang berjalan dan menunggu hingga thread pondering benar-benar berhenti.
+     */
+    public void stopPondering() {
+        synchronized (this.ponderLock) {
+            if (this.ponderTask == null) return;
+
+            this.ponderStopped = true;
+            try {
+                this.ponderTask.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } finally {
+                this.ponderTask = null;
+            }
+        }
+    }
+
+    /**
+     * Melakukan iterative deepening dengan akar berupa simpul min (giliran lawan) menggunakan pekerja utama saja,
+     * agar pondering tidak terlalu mengganggu thread lawan.
+     */
+    private synchronized void ponder(Board board) {
+        SearchWorker worker = this.workers[0];
+        worker.principalVariation = this.principalVariationSearch;
+        PlayerMarks searchingPlayer = board.getCurrentPlayer() == PlayerMarks.X ? PlayerMarks.O : PlayerMarks.X;
+        this.prepareTranspositionTable(board, searchingPlayer);
+
+        BooleanSupplier interrupt = () -> this.ponderStopped;
+        for (int depth = 1; depth <= board.getPliesLeft(); depth++) {
+            worker.minValue(board, interrupt, Integer.MIN_VALUE, Integer.MAX_VALUE, searchingPlayer, depth);
+            if (interrupt.getAsBoolean()) break;
+        }
+    }
+
+    /**
+     * Mengatur apakah pencarian berikutnya memakai Principal Variation Search dengan jendela aspirasi
+     * atau alpha-beta biasa dengan jendela penuh. Nilai bawaan diambil dari {@code Vars.PRINCIPAL_VARIATION_SEARCH}.
+     *
+     * @param enabled {@code true} untuk memakai Principal Variation Search.
+     */
+    public void setPrincipalVariationSearch(boolean enabled) {
+        this.principalVariationSearch = enabled;
+    }
+
+    public boolean isPrincipalVariationSearch() {
+        return this.principalVariationSearch;
+    }
+
+    /**
+     * Menyiapkan tabel transposisi untuk pencarian baru. Tabel dipertahankan selama satu permainan, sehingga hasil
+     * pencarian langkah sebelumnya (dan pondering) tetap dipakai untuk pemangkasan dan urutan langkah; entri lama
+     * hanya ditandai usang agar lebih dulu diganti. Tabel dikosongkan jika akar pencarian bukan kelanjutan dari akar
+     * sebelumnya, atau jika pemain yang mencari berbeda, karena skor pada tabel dihitung dari sudut pandang pemain
+     * yang mencari.
+     * <p>
+     * Posisi dianggap kelanjutan jika semua kotak yang terisi pada akar sebelumnya masih terisi dan jumlah kotak
+     * terisi ditambah sisa ply tetap sama (setiap ply mengisi tepat satu kotak). Dalam satu permainan, kotak yang
+     * terisi menentukan sisa ply, sehingga hash Zobrist yang tidak memuat sisa ply tetap aman dipakai.
+     */
+    private void prepareTranspositionTable(Board board, PlayerMarks searchingPlayer) {
+        long occupied = ~board.getEmptyMask();
+        boolean sameGame = searchingPlayer == this.lastSearchingPlayer
+                && (this.lastRootOccupied & ~occupied) == 0
+                && board.getPliesLeft() <= this.lastRootPliesLeft
+                && Long.bitCount(occupied) + board.getPliesLeft() == Long.bitCount(this.lastRootOccupied) + this.lastRootPliesLeft;
+        if (!sameGame) this.transpositionTable.clear();
+        this.transpositionTable.newSearch();
+
+        this.lastRootOccupied = occupied;
+        this.lastRootPliesLeft = board.getPliesLeft();
+        this.lastSearchingPlayer = searchingPlayer;
+    }
+
+    public void addListener(SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Mengembalikan banyak simpul yang dikunjungi oleh semua thread sejak awal pencarian terakhir.
+     * Nilai ini dapat dibaca ketika pencarian sedang berjalan.
+     *
+     * @return Banyak simpul yang dikunjungi.
+     */
+    public long getNodeCount() {
+        long total = 0;
+        for (SearchWorker worker : this.workers) {
+            total += worker.counters.nodes;
+        }
+        return total;
+    }
+
+    /**
+     * Mengembalikan statistik pencarian terakhir yang sudah selesai.
+     *
+     * @return Statistik pencarian, atau {@code null} jika belum pernah ada pencarian.
+     */
+    public SearchReport getLastReport() {
+        return this.lastReport;
+    }
+
+    private ExecutorService getPonderExecutor() {
+        if (this.ponderExecutor == null) {
+            this.ponderExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "search-ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ponderExecutor.allowCoreThreadTimeOut(true);
+        }
+        return this.ponderExecutor;
+    }
+
+    private ExecutorService getHelperPool() {
+        if (this.helperPool == null) {
+            // Thread pembantu milik mesin ini; thread yang menganggur dihentikan agar mesin yang sudah tidak dipakai tidak menahan thread
+            this.helperPool = new ThreadPoolExecutor(this.workers.length - 1, this.workers.length - 1,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.helperPool.allowCoreThreadTimeOut(true);
+        }
+        return this.helperPool;
+    }
+
+}
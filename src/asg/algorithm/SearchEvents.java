@@ -0,0 +1,110 @@
+package asg.algorithm;
+
+import asg.struct.Coordinate;
+import jdk.jfr.*;
+
+/**
+ * Event JFR untuk statistik pencarian. Event hanya diisi dan dicatat jika sedang direkam,
+ * misalnya dengan {@code -XX:StartFlightRecording}.
+ */
+final class SearchEvents {
+    private SearchEvents() {
+    }
+
+    @Name("asg.SearchIteration")
+    @Label("Search Iteration")
+    @Category({"Adjacency", "Search"})
+    @Description("One iterative deepening iteration of the main search thread")
+    static final class Iteration extends Event {
+        @Label("Depth") int depth;
+        @Label("Completed") boolean completed;
+        @Label("Best Move") String bestMove;
+        @Label("Score") int score;
+        @Label("Nodes") long nodes;
+        @Label("Leaves") long leaves;
+        @Label("Nodes Per Second") double nodesPerSecond;
+        @Label("TT Probes") long transpositionProbes;
+        @Label("TT Hits") long transpositionHits;
+        @Label("TT Stores") long transpositionStores;
+        @Label("Cutoffs") long cutoffs;
+        @Label("First Move Cutoff Rate") double firstMoveCutoffRate;
+        @Label("Re-searches") long researches;
+        @Label("Aspiration Fails") long aspirationFails;
+        @Label("Effective Branching Factor") double effectiveBranchingFactor;
+    }
+
+    @Name("asg.Search")
+    @Label("Search")
+    @Category({"Adjacency", "Search"})
+    @Description("Complete search for one move, summed over all search threads")
+    static final class Search extends Event {
+        @Label("Depth Reached") int depth;
+        @Label("Threads") int threadCount;
+        @Label("Best Move") String bestMove;
+        @Label("Score") int score;
+        @Label("Nodes") long nodes;
+        @Label("Leaves") long leaves;
+        @Label("Nodes Per Second") double nodesPerSecond;
+        @Label("TT Probes") long transpositionProbes;
+        @Label("TT Hits") long transpositionHits;
+        @Label("TT Stores") long transpositionStores;
+        @Label("Cutoffs") long cutoffs;
+        @Label("First Move Cutoff Rate") double firstMoveCutoffRate;
+        @Label("Re-searches") long researches;
+        @Label("Aspiration Fails") long aspirationFails;
+        @Label("Effective Branching Factor") double effectiveBranchingFactor;
+    }
+
+    /**
+     * Memuat kelas-kelas event lebih awal. Pemuatan pertama event JFR memakan waktu ratusan milidetik,
+     * sehingga tidak boleh terjadi di dalam pencarian yang dibatasi waktu.
+     */
+    static void preload() {
+        new Iteration();
+        new Search();
+    }
+
+    static void commit(Iteration event, SearchReport report) {
+        event.end();
+        if (!event.shouldCommit()) return;
+
+        event.depth = report.depth();
+        event.completed = report.completed();
+        event.bestMove = Coordinate.toString(report.bestMove());
+        event.score = report.score();
+        event.nodes = report.nodes();
+        event.leaves = report.leaves();
+        event.nodesPerSecond = report.nodesPerSecond();
+        event.transpositionProbes = report.transpositionProbes();
+        event.transpositionHits = report.transpositionHits();
+        event.transpositionStores = report.transpositionStores();
+        event.cutoffs = report.cutoffs();
+        event.firstMoveCutoffRate = report.firstMoveCutoffRate();
+        event.researches = report.researches();
+        event.aspirationFails = report.aspirationFails();
+        event.effectiveBranchingFactor = report.effectiveBranchingFactor();
+        event.commit();
+    }
+
+    static void commit(Search event, SearchReport report) {
+        event.end();
+        if (!event.shouldCommit()) return;
+
+        event.depth = report.depth();
+        event.threadCount = report.threadCount();
+        event.bestMove = Coordinate.toString(report.bestMove());
+        event.score = report.score();
+        event.nodes = report.nodes();
+        event.leaves = report.leaves();
+        event.nodesPerSecond = report.nodesPerSecond();
+        event.transpositionProbes = report.transpositionProbes();
+        event.transpositionHits = report.transpositionHits();
+        event.transpositionStores = report.transpositionStores();
+        event.cutoffs = report.cutoffs();
+        event.firstMoveCutoffRate = report.firstMoveCutoffRate();
+        event.researches = report.researches();
+        event.aspirationFails = report.aspirationFails();
+        event.effectiveBranchingFactor = report.effectiveBranchingFactor();
+        event.commit();
+    }
+}
@@ -0,0 +1,45 @@
+package asg.algorithm;
+
+import java.io.PrintStream;
+
+/**
+ * Pendengar statistik pencarian dari {@code SearchEngine}. Method dipanggil secara sinkron dari thread pencarian utama,
+ * sehingga implementasinya harus ringan.
+ */
+public interface SearchListener {
+    /**
+     * Dipanggil setiap kali thread utama menyelesaikan (atau menghentikan) satu iterasi pendalaman.
+     *
+     * @param report Statistik iterasi thread utama.
+     */
+    default void onIteration(SearchReport report) {
+    }
+
+    /**
+     * Dipanggil ketika pencarian sebuah langkah selesai.
+     *
+     * @param report Statistik seluruh pencarian, dijumlahkan dari semua thread.
+     */
+    default void onSearchComplete(SearchReport report) {
+    }
+
+    /**
+     * Membuat pendengar yang mencetak setiap ringkasan sebagai satu baris {@code kunci=nilai}.
+     *
+     * @param out Tujuan cetakan.
+     * @return Pendengar pencetak.
+     */
+    static SearchListener printing(PrintStream out) {
+        return new SearchListener() {
+            @Override
+            public void onIteration(SearchReport report) {
+                out.println("search.iteration " + report);
+            }
+
+            @Override
+            public void onSearchComplete(SearchReport report) {
+                out.println("search.move " + report);
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package asg.algorithm;
+
+import asg.struct.Coordinate;
+
+import java.util.Locale;
+
+/**
+ * Ringkasan statistik sebuah iterasi pencarian atau sebuah pencarian langkah secara keseluruhan.
+ *
+ * @param depth                    Kedalaman iterasi, atau kedalaman terdalam yang selesai untuk ringkasan langkah.
+ * @param completed                {@code true} jika pencarian tidak dihentikan sebelum selesai.
+ * @param threadCount              Banyak thread yang statistiknya dijumlahkan dalam ringkasan ini.
+ * @param bestMove                 Langkah terbaik yang ditemukan, dalam format {@code Coordinate}.
+ * @param score                    Skor langkah terbaik.
+ * @param nodes                    Banyak simpul yang dikunjungi.
+ * @param leaves                   Banyak daun yang dievaluasi.
+ * @param transpositionProbes      Banyak pencarian pada tabel transposisi.
+ * @param transpositionHits        Banyak skor tabel transposisi yang langsung dipakai.
+ * @param transpositionStores      Banyak penyimpanan ke tabel transposisi.
+ * @param cutoffs                  Banyak pemangkasan alpha-beta.
+ * @param firstMoveCutoffs         Banyak pemangkasan yang terjadi pada langkah pertama yang diperiksa.
+ * @param researches               Banyak pencarian ulang setelah pencarian jendela nol gagal (PVS).
+ * @param aspirationFails          Banyak iterasi yang diulang karena skornya di luar jendela aspirasi.
+ * @param effectiveBranchingFactor Faktor percabangan efektif per ply.
+ * @param elapsedNanos             Lama pencarian dalam nanodetik.
+ */
+public record SearchReport(int depth, boolean completed, int threadCount, byte bestMove, int score,
+                           long nodes, long leaves,
+                           long transpositionProbes, long transpositionHits, long transpositionStores,
+                           long cutoffs, long firstMoveCutoffs, long researches, long aspirationFails,
+                           double effectiveBranchingFactor, long elapsedNanos) {
+    static SearchReport of(int depth, boolean completed, int threadCount, byte bestMove, int score,
+                           SearchCounters counters, double effectiveBranchingFactor, long elapsedNanos) {
+        return new SearchReport(depth, completed, threadCount, bestMove, score,
+                counters.nodes, counters.leaves,
+                counters.transpositionProbes, counters.transpositionHits, counters.transpositionStores,
+                counters.cutoffs, counters.firstMoveCutoffs, counters.researches, counters.aspirationFails,
+                effectiveBranchingFactor, elapsedNanos);
+    }
+
+    public double nodesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.nodes * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Mengembalikan proporsi pemangkasan yang terjadi pada langkah pertama. Nilai yang tinggi menandakan urutan langkah yang baik.
+     *
+     * @return Proporsi dalam rentang [0, 1].
+     */
+    public double firstMoveCutoffRate() {
+        return this.cutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.cutoffs;
+    }
+
+    public double transpositionHitRate() {
+        return this.transpositionProbes == 0 ? 0 : (double) this.transpositionHits / this.transpositionProbes;
+    }
+
+    /**
+     * Mengembalikan ringkasan dalam satu baris {@code kunci=nilai} yang mudah diurai.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "depth=%d completed=%b threads=%d move=%s score=%d nodes=%d leaves=%d nps=%.0f "
+                        + "tt_probes=%d tt_hits=%d tt_stores=%d cutoffs=%d first_move_cutoff_rate=%.3f researches=%d aspiration_fails=%d ebf=%.2f elapsed_ms=%.3f",
+                this.depth, this.completed, this.threadCount, Coordinate.toString(this.bestMove).replace(" ", ""), this.score,
+                this.nodes, this.leaves, this.nodesPerSecond(),
+                this.transpositionProbes, this.transpositionHits, this.transpositionStores,
+                this.cutoffs, this.firstMoveCutoffRate(), this.researches, this.aspirationFails, this.effectiveBranchingFactor, this.elapsedNanos / 1e6);
+    }
+}
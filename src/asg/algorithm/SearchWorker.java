@@ -0,0 +1,490 @@
+package asg.algorithm;
+
+import asg.struct.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pekerja pencarian alpha-beta. Setiap thread pencarian memiliki pekerjanya sendiri, lengkap dengan
+ * buffer langkah dan statistik, sedangkan tabel transposisi dipakai bersama oleh semua pekerja.
+ */
+class SearchWorker {
+    // Prioritas langkah dari tabel transposisi dan langkah pembunuh, selalu di atas prioritas langkah biasa
+    private static final int TRANSPOSITION_MOVE_PRIORITY = Integer.MAX_VALUE;
+    private static final int KILLER_MOVE_PRIORITY = Integer.MAX_VALUE - 2;
+    private static final int KILLER_SLOTS = 2;
+    private static final byte NO_MOVE = -1;
+    // Nilai history dibagi dua jika melewati batas ini, agar tidak melimpah dan pemangkasan lama cepat terlupakan
+    private static final int HISTORY_LIMIT = 1 << 24;
+    // Bobot banyak markah lawan yang berpindah, sebagai urutan awal sebelum tabel history terisi
+    private static final int CAPTURE_PRIORITY = 64;
+    // Penanda penghentian hanya diperiksa sekali setiap sekian pemanggilan, karena pemeriksaan dilakukan di setiap simpul
+    private static final int INTERRUPT_CHECK_MASK = 63;
+
+    final int id;
+    private final TranspositionTable transpositionTable;
+
+    // Statistik sejak awal pencarian; hanya ditulis oleh thread pekerja ini
+    final SearchCounters counters = new SearchCounters();
+
+    // Mode Principal Variation Search; diatur oleh mesin sebelum pencarian dimulai
+    boolean principalVariation;
+
+    // Buffer langkah dan prioritasnya untuk setiap sisa kedalaman, agar pembangkitan langkah tidak mengalokasikan objek
+    private final byte[][] moveBuffers = new byte[Bitboards.SQUARE_COUNT + 1][Bitboards.SQUARE_COUNT];
+    private final int[][] priorityBuffers = new int[Bitboards.SQUARE_COUNT + 1][Bitboards.SQUARE_COUNT];
+
+    // Dua langkah pembunuh (killer move) untuk setiap ply permainan, diindeks dengan sisa ply pada papan,
+    // sehingga tetap berlaku untuk iterasi dan pencarian berikutnya
+    private final byte[][] killerMoves = new byte[Bitboards.SQUARE_COUNT + 1][KILLER_SLOTS];
+    // Tabel history (butterfly) per pemain dan kotak, bertambah setiap kali langkah tersebut menyebabkan pemangkasan
+    private final int[][] history = new int[PlayerMarks.values().length][Bitboards.SQUARE_COUNT];
+
+    /**
+     * @param id Nomor pekerja; pekerja 0 adalah pekerja utama yang hasilnya dipakai.
+     * @param transpositionTable Tabel transposisi bersama.
+     */
+    SearchWorker(int id, TranspositionTable transpositionTable) {
+        this.id = id;
+        this.transpositionTable = transpositionTable;
+        for (byte[] killers : this.killerMoves) {
+            Arrays.fill(killers, NO_MOVE);
+        }
+    }
+
+    /**
+     * Membungkus penanda penghentian untuk satu pencarian pekerja ini. Penanda asli hanya diperiksa sekali setiap
+     * sekian pemanggilan dengan penghitung milik pembungkus, sehingga pemeriksaan di setiap simpul tidak menulis ke
+     * memori yang dipakai bersama thread lain. Setelah bernilai {@code true}, hasilnya dipertahankan.
+     * @param interrupt Penanda penghentian pencarian.
+     * @return Penanda penghentian yang hanya boleh dipakai oleh thread pekerja ini.
+     */
+    BooleanSupplier pollingInterrupt(BooleanSupplier interrupt) {
+        return new BooleanSupplier() {
+            private int polls;
+            private boolean interrupted;
+
+            @Override
+            public boolean getAsBoolean() {
+                if (!this.interrupted && (this.polls++ & INTERRUPT_CHECK_MASK) == 0) {
+                    this.interrupted = interrupt.getAsBoolean();
+                }
+                return this.interrupted;
+            }
+        };
+    }
+
+    /**
+     * Membagi dua seluruh nilai history. Dipanggil setiap awal pencarian agar urutan langkah tetap memakai
+     * pengetahuan dari pencarian sebelumnya, tetapi lebih mengutamakan pemangkasan yang baru.
+     */
+    void ageHistory() {
+        for (int[] playerHistory : this.history) {
+            for (int i = 0; i < playerHistory.length; i++) {
+                playerHistory[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Melakukan satu iterasi pencarian alpha-beta dari akar dengan kedalaman dan jendela [alpha, beta] yang diberikan.
+     * Jika skor yang dikembalikan kurang dari {@code alpha} atau lebih dari {@code beta}, skor tersebut hanya batas
+     * atas atau batas bawah, dan iterasi perlu diulang dengan jendela yang lebih lebar.
+     * @param board Papan milik pekerja ini; papan diubah dengan make/undo selama pencarian.
+     * @param interrupt Penanda penghentian pencarian.
+     * @param depth Kedalaman pencarian iterasi ini.
+     * @param alpha Batas bawah jendela pencarian.
+     * @param beta Batas atas jendela pencarian.
+     * @return Langkah terbaik beserta skornya.
+     */
+    ActionNode findOne(Board board, BooleanSupplier interrupt, int depth, int alpha, int beta) {
+        // Generate all moves from the initial board state, ordered by priority;
+        // entries from shallower iterations stay in the transposition table
+        this.counters.transpositionProbes++;
+        int symmetry = board.canonicalSymmetry();
+        long entry = this.transpositionTable.probe(board.symmetricHash(symmetry));
+        int moveCount = generateMoves(board, depth, entry, symmetry);
+        byte[] moves = this.moveBuffers[depth];
+        // Langkah akar diurutkan seluruhnya agar dapat diputar untuk pekerja pembantu
+        for (int i = 0; i < moveCount; i++) {
+            this.selectMove(depth, i, moveCount);
+        }
+        this.rotateRootMoves(moves, moveCount);
+
+        // Get the move that produces the board state with maximum evaluation score
+        List<Byte> maxResult = new ArrayList<>();
+
+        // Initialize alpha and beta
+        int a = alpha;
+        int best = Integer.MIN_VALUE;
+        byte bestMove = moves[0];
+        PlayerMarks searchingPlayer = board.getCurrentPlayer();
+
+        // Begin alpha-beta pruning search and keep track of all moves with the best evaluation score
+        for (int i = 0; i < moveCount; i++) {
+            if (interrupt.getAsBoolean()) break;
+            byte move = moves[i];
+
+            board.make(move);
+            int score = searchChild(board, interrupt, i, a, beta, searchingPlayer, depth - 1, false);
+            board.undo();
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > a) {
+                a = score;
+                maxResult.clear();
+            }
+            if (score == a) {
+                maxResult.add(move);
+            }
+            // Fail high: skor ini hanya batas bawah, pemanggil akan mengulang dengan jendela yang lebih lebar
+            if (a > beta) break;
+        }
+
+        // The search may be stopped before any move is scored or every move may fail low:
+        // fall back to the best move seen, which is the first ordered move if none was scored
+        if (maxResult.isEmpty()) {
+            maxResult.add(bestMove);
+            a = best;
+        }
+
+        // Store the current best move for the next search deepening
+        byte selectedMove = maxResult.get((int) (Math.random() * maxResult.size()));
+        ActionNode result = new ActionNode(a, selectedMove);
+        if (!interrupt.getAsBoolean()) {
+            this.counters.transpositionStores++;
+            this.transpositionTable.store(board.symmetricHash(symmetry), depth, boundOf(a, alpha, beta), a,
+                    symmetricMove(symmetry, selectedMove));
+        }
+
+        return result;
+    }
+
+    /**
+     * Mencari pilihan minimal dalam permainan dalam sudut pandang pemain lawan
+     * @param board Kondisi terkini papan permainan.
+     * @param interrupt Timer untuk penghitungan waktu pencarian solusi.
+     * @param a Nilai alfa dari pohon permainan.
+     * @param b Nilai beta dari pohon permainan.
+     * @param searchingPlayer Player yang sedang melakukan pencarian.
+     * @param depth Kedalaman pohon yang dihitung dari pilihan banyaknya ronde permainan.
+     * @return result hasil pencarian dengan kedalaman tertentu.
+     */
+
+    int minValue(Board board, BooleanSupplier interrupt, int a, int b, PlayerMarks searchingPlayer, int depth) {
+        this.counters.nodes++;
+
+        // End search if the maximum depth is reached or this board state is a terminal state
+        if (interrupt.getAsBoolean() || depth == 0 || board.isTerminal()) {
+            this.counters.leaves++;
+            return switch (searchingPlayer) {
+                case X -> board.getPlayerXScore() - board.getPlayerOScore();
+                case O -> board.getPlayerOScore() - board.getPlayerXScore();
+                default -> throw new RuntimeException();
+            };
+        }
+
+        // If this position has been searched deep enough, reuse the score when its bound allows a cutoff
+        this.counters.transpositionProbes++;
+        int symmetry = board.canonicalSymmetry();
+        long entry = this.transpositionTable.probe(board.symmetricHash(symmetry));
+        if (entry != 0 && TranspositionTable.depthOf(entry) >= depth && isCutoff(entry, a, b)) {
+            this.counters.transpositionHits++;
+            return TranspositionTable.scoreOf(entry);
+        }
+
+        // Generate all moves from the current board state; child states are made one at a time
+        int moveCount = generateMoves(board, depth, entry, symmetry);
+
+        int alpha = a, beta = b;
+        int score = Integer.MAX_VALUE;
+        byte bestMove = 0;
+
+        // Perform alpha-beta pruning search on predecessors
+        for (int i = 0; i < moveCount; i++) {
+            byte move = this.selectMove(depth, i, moveCount);
+            board.make(move);
+            int checkScore = searchChild(board, interrupt, i, a, b, searchingPlayer, depth - 1, true);
+            board.undo();
+            if (score > checkScore) {
+                score = checkScore;
+                bestMove = move;
+            }
+            if (score < a) {
+                this.counters.cutoffs++;
+                if (i == 0) this.counters.firstMoveCutoffs++;
+                this.recordCutoff(board, move, depth);
+                break;
+            }
+            b = Math.min(b, score);
+        }
+
+        // Cache the search result, unless it was cut short by the interrupt
+        if (!interrupt.getAsBoolean()) {
+            this.counters.transpositionStores++;
+            this.transpositionTable.store(board.symmetricHash(symmetry), depth, boundOf(score, alpha, beta), score,
+                    symmetricMove(symmetry, bestMove));
+        }
+
+        return score;
+    }
+
+    /**
+     * Mencari pilihan maksimal dalam permainan dalam sudut pandang pemain bertahan
+     * @param board Kondisi terkini papan permainan.
+     * @param interrupt Timer untuk penghitungan waktu pencarian solusi.
+     * @param a Nilai alfa dari pohon permainan.
+     * @param b Nilai beta dari pohon permainan.
+     * @param searchingPlayer Player yang sedang melakukan pencarian.
+     * @param depth Kedalaman pohon yang dihitung dari pilihan banyaknya ronde permainan.
+     * @return result hasil pencarian dengan kedalaman tertentu.
+     */
+    int maxValue(Board board, BooleanSupplier interrupt, int a, int b, PlayerMarks searchingPlayer, int depth) {
+        this.counters.nodes++;
+
+        // End search if the maximum depth is reached or this board state is a terminal state
+        if (interrupt.getAsBoolean() || depth == 0 || board.isTerminal()) {
+            this.counters.leaves++;
+            return switch (searchingPlayer) {
+                case X -> board.getPlayerXScore() - board.getPlayerOScore();
+                case O -> board.getPlayerOScore() - board.getPlayerXScore();
+                default -> throw new RuntimeException();
+            };
+        }
+
+        // If this position has been searched deep enough, reuse the score when its bound allows a cutoff
+        this.counters.transpositionProbes++;
+        int symmetry = board.canonicalSymmetry();
+        long entry = this.transpositionTable.probe(board.symmetricHash(symmetry));
+        if (entry != 0 && TranspositionTable.depthOf(entry) >= depth && isCutoff(entry, a, b)) {
+            this.counters.transpositionHits++;
+            return TranspositionTable.scoreOf(entry);
+        }
+
+        // Generate all moves from the current board state; child states are made one at a time
+        int moveCount = generateMoves(board, depth, entry, symmetry);
+
+        int alpha = a, beta = b;
+        int score = Integer.MIN_VALUE;
+        byte bestMove = 0;
+
+        // Perform alpha-beta pruning search on predecessors
+        for (int i = 0; i < moveCount; i++) {
+            byte move = this.selectMove(depth, i, moveCount);
+            board.make(move);
+            int checkScore = searchChild(board, interrupt, i, a, b, searchingPlayer, depth - 1, false);
+            board.undo();
+            if (score < checkScore) {
+                score = checkScore;
+                bestMove = move;
+            }
+            if (score > b) {
+                this.counters.cutoffs++;
+                if (i == 0) this.counters.firstMoveCutoffs++;
+                this.recordCutoff(board, move, depth);
+                break;
+            }
+            a = Math.max(a, score);
+        }
+
+        // Cache the search result, unless it was cut short by the interrupt
+        if (!interrupt.getAsBoolean()) {
+            this.counters.transpositionStores++;
+            this.transpositionTable.store(board.symmetricHash(symmetry), depth, boundOf(score, alpha, beta), score,
+                    symmetricMove(symmetry, bestMove));
+        }
+        return score;
+    }
+
+    /**
+     * Mencari anak ke-{@code index} dari sebuah simpul dengan jendela [a, b]. Pada mode Principal Variation Search,
+     * hanya anak pertama yang dicari dengan jendela penuh; anak lainnya dicari dengan jendela nol untuk membuktikan
+     * bahwa anak tersebut tidak lebih baik dari skor terbaik saat ini, dan dicari ulang dengan jendela penuh jika
+     * pembuktian gagal.
+     * @param board Kondisi papan setelah langkah anak dilakukan.
+     * @param interrupt Penanda penghentian pencarian.
+     * @param index Urutan anak di antara langkah yang sudah diurutkan.
+     * @param a Nilai alfa dari pohon permainan.
+     * @param b Nilai beta dari pohon permainan.
+     * @param searchingPlayer Player yang sedang melakukan pencarian.
+     * @param depth Sisa kedalaman pada anak.
+     * @param maximizing {@code true} jika anak adalah simpul max (induknya simpul min).
+     * @return Skor anak.
+     */
+    private int searchChild(Board board, BooleanSupplier interrupt, int index, int a, int b,
+                            PlayerMarks searchingPlayer, int depth, boolean maximizing) {
+        if (!this.principalVariation || index == 0 || a >= b) {
+            return maximizing
+                    ? maxValue(board, interrupt, a, b, searchingPlayer, depth)
+                    : minValue(board, interrupt, a, b, searchingPlayer, depth);
+        }
+
+        // Jendela tertutup [a, a] untuk simpul max dan [b, b] untuk simpul min: skor yang sama dengan batas jendela
+        // adalah skor eksak, sehingga langkah dengan skor yang sama tetap dikenali sebagai langkah terbaik
+        if (maximizing) {
+            int score = maxValue(board, interrupt, b, b, searchingPlayer, depth);
+            if (score >= b || score < a || interrupt.getAsBoolean()) return score;
+        } else {
+            int score = minValue(board, interrupt, a, a, searchingPlayer, depth);
+            if (score <= a || score > b || interrupt.getAsBoolean()) return score;
+        }
+
+        this.counters.researches++;
+        return maximizing
+                ? maxValue(board, interrupt, a, b, searchingPlayer, depth)
+                : minValue(board, interrupt, a, b, searchingPlayer, depth);
+    }
+
+    /**
+     * Memeriksa apakah skor pada entri tabel transposisi cukup untuk menghentikan pencarian pada jendela (a, b).
+     * @param entry Data entri tabel transposisi.
+     * @param a Nilai alfa dari pohon permainan.
+     * @param b Nilai beta dari pohon permainan.
+     * @return {@code true} jika skor entri dapat langsung dikembalikan.
+     */
+    boolean isCutoff(long entry, int a, int b) {
+        int score = TranspositionTable.scoreOf(entry);
+        return switch (TranspositionTable.boundOf(entry)) {
+            case TranspositionTable.BOUND_EXACT -> true;
+            case TranspositionTable.BOUND_LOWER -> score > b;
+            case TranspositionTable.BOUND_UPPER -> score < a;
+            default -> false;
+        };
+    }
+
+    /**
+     * Menentukan jenis batas dari skor hasil pencarian dengan jendela [a, b].
+     * Pemangkasan hanya terjadi jika skor berada di luar jendela, sehingga skor di dalam jendela adalah skor eksak.
+     * @param score Skor hasil pencarian.
+     * @param a Nilai alfa saat pencarian dimulai.
+     * @param b Nilai beta saat pencarian dimulai.
+     * @return Jenis batas yang digunakan oleh {@code TranspositionTable}.
+     */
+    int boundOf(int score, int a, int b) {
+        if (score < a) return TranspositionTable.BOUND_UPPER;
+        if (score > b) return TranspositionTable.BOUND_LOWER;
+        return TranspositionTable.BOUND_EXACT;
+    }
+
+    /**
+     * Memetakan sebuah langkah dengan simetri papan yang diberikan.
+     * Langkah disimpan ke tabel transposisi dalam koordinat papan kanonik, dan dipetakan kembali dengan simetri
+     * kebalikannya ketika dibaca.
+     * @param symmetry Nomor simetri.
+     * @param move Koordinat langkah.
+     * @return Koordinat langkah setelah dipetakan.
+     */
+    static byte symmetricMove(int symmetry, byte move) {
+        return Bitboards.coordinateOf(Bitboards.symmetricSquare(symmetry, Bitboards.indexOf(move)));
+    }
+
+    /**
+     * Mengisi buffer langkah untuk sisa kedalaman yang diberikan dengan semua kotak kosong pada papan beserta prioritasnya.
+     * Langkah terbaik dari tabel transposisi mendapat prioritas tertinggi, diikuti langkah pembunuh pada ply ini,
+     * lalu langkah lainnya menurut tabel history dan banyak markah lawan yang berpindah.
+     * Langkah tidak diurutkan di sini; gunakan {@link #selectMove} untuk mengambil langkah satu per satu.
+     * @param board Kondisi terkini papan permainan.
+     * @param depth Sisa kedalaman pencarian, digunakan sebagai indeks buffer.
+     * @param entry Data entri tabel transposisi untuk papan ini, atau {@code 0} jika tidak ada.
+     * @param symmetry Simetri kanonik papan ini; langkah pada entri tersimpan dalam koordinat papan kanonik.
+     * @return Banyak langkah yang dituliskan ke {@code moveBuffers[depth]}.
+     */
+    int generateMoves(Board board, int depth, long entry, int symmetry) {
+        byte[] moves = this.moveBuffers[depth];
+        int[] priorities = this.priorityBuffers[depth];
+        int[] playerHistory = this.history[board.getCurrentPlayer().ordinal()];
+        byte[] killers = this.killerMoves[board.getPliesLeft()];
+        byte transpositionMove = entry != 0
+                ? symmetricMove(Bitboards.inverseSymmetry(symmetry), TranspositionTable.moveOf(entry))
+                : NO_MOVE;
+
+        int count = 0;
+        for (long empty = board.getEmptyMask(); empty != 0; empty &= empty - 1) {
+            int square = Long.numberOfTrailingZeros(empty);
+            byte move = Bitboards.coordinateOf(square);
+            int priority;
+            if (move == transpositionMove) {
+                this.counters.bestMoveHits++;
+                priority = TRANSPOSITION_MOVE_PRIORITY;
+            } else if (move == killers[0]) {
+                priority = KILLER_MOVE_PRIORITY;
+            } else if (move == killers[1]) {
+                priority = KILLER_MOVE_PRIORITY - 1;
+            } else {
+                priority = playerHistory[square] + CAPTURE_PRIORITY * board.captureCount(square);
+            }
+            moves[count] = move;
+            priorities[count] = priority;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Memilih langkah dengan prioritas tertinggi di antara langkah ke-{@code index} hingga terakhir dan menukarnya
+     * ke posisi {@code index}. Karena pemangkasan sering terjadi pada langkah-langkah awal, pemilihan satu per satu
+     * lebih murah daripada mengurutkan seluruh langkah.
+     * @param depth Sisa kedalaman pencarian, digunakan sebagai indeks buffer.
+     * @param index Posisi langkah yang akan diambil.
+     * @param count Banyak langkah pada buffer.
+     * @return Langkah pada posisi {@code index} setelah pemilihan.
+     */
+    private byte selectMove(int depth, int index, int count) {
+        byte[] moves = this.moveBuffers[depth];
+        int[] priorities = this.priorityBuffers[depth];
+
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (priorities[i] > priorities[best]) best = i;
+        }
+        if (best != index) {
+            byte move = moves[best];
+            int priority = priorities[best];
+            moves[best] = moves[index];
+            priorities[best] = priorities[index];
+            moves[index] = move;
+            priorities[index] = priority;
+        }
+        return moves[index];
+    }
+
+    /**
+     * Mencatat langkah yang menyebabkan pemangkasan sebagai langkah pembunuh pada ply ini dan menambah nilai history-nya.
+     * @param board Kondisi papan sebelum langkah dilakukan.
+     * @param move Langkah yang menyebabkan pemangkasan.
+     * @param depth Sisa kedalaman pencarian; pemangkasan yang lebih dalam mendapat bobot lebih besar.
+     */
+    private void recordCutoff(Board board, byte move, int depth) {
+        byte[] killers = this.killerMoves[board.getPliesLeft()];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+
+        int[] playerHistory = this.history[board.getCurrentPlayer().ordinal()];
+        int square = Bitboards.indexOf(move);
+        playerHistory[square] += depth * depth;
+        if (playerHistory[square] > HISTORY_LIMIT) this.ageHistory();
+    }
+
+    /**
+     * Memutar urutan langkah akar selain langkah pertama sesuai nomor pekerja,
+     * sehingga pekerja pembantu menjelajahi cabang akar dengan urutan yang berbeda-beda.
+     */
+    private void rotateRootMoves(byte[] moves, int count) {
+        if (this.id == 0 || count <= 2) return;
+
+        int shift = this.id % (count - 1);
+        for (int n = 0; n < shift; n++) {
+            byte first = moves[1];
+            System.arraycopy(moves, 2, moves, 1, count - 2);
+            moves[count - 1] = first;
+        }
+    }
+}
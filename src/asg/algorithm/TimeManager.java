@@ -0,0 +1,149 @@
+package asg.algorithm;
+
+import asg.struct.Board;
+
+/**
+ * Pengatur waktu pencarian satu bot, berdasarkan {@code System.nanoTime}.
+ * <p>
+ * Setiap langkah memiliki dua tenggat. Tenggat lunak adalah alokasi waktu ideal: setelah tenggat ini, bot tidak
+ * memulai iterasi baru. Tenggat keras adalah batas mutlak: bot harus segera mengembalikan langkah terbaik yang sudah
+ * ditemukan. Tenggat keras disisakan margin dari batas waktu per langkah, sehingga langkah tetap dikembalikan tepat
+ * waktu walaupun terjadi jeda GC atau penjadwalan thread.
+ * <p>
+ * Jika anggaran waktu satu permainan diberikan, sisa anggaran dibagi rata ke sisa langkah milik bot (dihitung dari
+ * {@code pliesLeft}), dan waktu yang tidak terpakai pada suatu langkah dapat digunakan oleh langkah berikutnya.
+ */
+public class TimeManager {
+    private static final long MIN_MARGIN_NANOS = 50_000_000L;
+    private static final double MARGIN_RATIO = 0.05;
+    // Tenggat keras paling lama sekian kali alokasi ideal jika memakai anggaran permainan
+    private static final long HARD_ALLOCATION_FACTOR = 3;
+    private static final long MIN_ALLOCATION_NANOS = 1_000_000L;
+
+    private final long moveLimitNanos;
+    private final long gameBudgetNanos;
+    private long usedGameNanos;
+    private int lastPliesLeft = Integer.MAX_VALUE;
+
+    private volatile long startTime, softDeadline, hardDeadline;
+    private volatile boolean limited;
+    private volatile boolean hardExpired;
+
+    /**
+     * Membuat pengatur waktu dengan batas waktu per langkah saja.
+     *
+     * @param moveTime Batas waktu setiap langkah dalam detik, atau {@code 0} untuk tanpa batas.
+     */
+    public TimeManager(double moveTime) {
+        this(moveTime, 0);
+    }
+
+    /**
+     * Membuat pengatur waktu dengan batas waktu per langkah dan anggaran waktu satu permainan.
+     *
+     * @param moveTime Batas waktu setiap langkah dalam detik, atau {@code 0} untuk tanpa batas.
+     * @param gameTime Anggaran waktu seluruh langkah bot dalam satu permainan dalam detik, atau {@code 0} untuk tanpa anggaran.
+     */
+    public TimeManager(double moveTime, double gameTime) {
+        this.moveLimitNanos = (long) (Math.max(0, moveTime) * 1e9);
+        this.gameBudgetNanos = (long) (Math.max(0, gameTime) * 1e9);
+    }
+
+    /**
+     * Memulai penghitungan waktu sebuah langkah dan menentukan tenggat lunak dan kerasnya.
+     * Anggaran permainan diatur ulang jika {@code pliesLeft} bertambah, yang menandakan permainan baru.
+     *
+     * @param board Keadaan papan saat bot mulai mencari langkah.
+     */
+    public void start(Board board) {
+        long now = System.nanoTime();
+        int pliesLeft = board.getPliesLeft();
+        if (pliesLeft > this.lastPliesLeft) this.usedGameNanos = 0;
+        this.lastPliesLeft = pliesLeft;
+
+        long soft = Long.MAX_VALUE, hard = Long.MAX_VALUE;
+        if (this.moveLimitNanos > 0) {
+            hard = this.moveLimitNanos - marginOf(this.moveLimitNanos);
+            soft = hard;
+        }
+        if (this.gameBudgetNanos > 0) {
+            // Bagi sisa anggaran ke sisa langkah milik bot ini
+            long remaining = Math.max(0, this.gameBudgetNanos - this.usedGameNanos);
+            long ownMovesLeft = Math.max(1, (pliesLeft + 1) / 2);
+            long share = remaining / ownMovesLeft;
+            soft = Math.min(soft, share);
+            hard = Math.min(hard, Math.min(share * HARD_ALLOCATION_FACTOR, remaining - marginOf(remaining)));
+        }
+
+        this.limited = hard != Long.MAX_VALUE;
+        if (this.limited) {
+            hard = Math.max(hard, MIN_ALLOCATION_NANOS);
+            soft = Math.max(Math.min(soft, hard), MIN_ALLOCATION_NANOS);
+        }
+        this.startTime = now;
+        this.softDeadline = this.limited ? now + soft : 0;
+        this.hardDeadline = this.limited ? now + hard : 0;
+        this.hardExpired = false;
+    }
+
+    /**
+     * Menandai akhir sebuah langkah dan mencatat waktu yang terpakai dari anggaran permainan.
+     */
+    public void finish() {
+        this.usedGameNanos += System.nanoTime() - this.startTime;
+    }
+
+    /**
+     * Memeriksa apakah tenggat keras sudah lewat. Method ini aman dipanggil dari beberapa thread sekaligus dan tidak
+     * menulis apa pun sebelum tenggat lewat, tetapi membaca jam pada setiap pemanggilan; pencarian yang memeriksa di
+     * setiap simpul sebaiknya membatasi sendiri seberapa sering method ini dipanggil (seperti {@code SearchWorker}).
+     *
+     * @return {@code true} jika bot harus segera berhenti.
+     */
+    public boolean isHardExpired() {
+        if (!this.limited || this.hardExpired) return this.hardExpired;
+
+        if (System.nanoTime() - this.hardDeadline >= 0) this.hardExpired = true;
+        return this.hardExpired;
+    }
+
+    /**
+     * Memeriksa apakah tenggat lunak sudah lewat.
+     *
+     * @return {@code true} jika bot tidak boleh memulai iterasi baru.
+     */
+    public boolean isSoftExpired() {
+        return this.limited && System.nanoTime() - this.softDeadline >= 0;
+    }
+
+    /**
+     * Memperkirakan apakah iterasi berikutnya dapat selesai sebelum tenggat keras. Lama iterasi berikutnya
+     * diperkirakan dari lama iterasi terakhir dikali faktor percabangan efektifnya.
+     *
+     * @param lastIterationNanos Lama iterasi terakhir yang selesai dalam nanodetik.
+     * @param branchingFactor    Faktor percabangan efektif per ply dari iterasi terakhir.
+     * @param depthStep          Selisih kedalaman iterasi berikutnya terhadap iterasi terakhir.
+     * @return {@code true} jika iterasi berikutnya sebaiknya dimulai.
+     */
+    public boolean canStartIteration(long lastIterationNanos, double branchingFactor, int depthStep) {
+        if (!this.limited) return true;
+
+        long now = System.nanoTime();
+        if (now - this.softDeadline >= 0) return false;
+        double predicted = lastIterationNanos * Math.pow(Math.max(1, branchingFactor), depthStep);
+        return predicted < this.hardDeadline - now;
+    }
+
+    /**
+     * Mengembalikan waktu yang sudah berlalu sejak awal langkah saat ini.
+     *
+     * @return Waktu yang berlalu dalam nanodetik.
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - this.startTime;
+    }
+
+    private static long marginOf(long nanos) {
+        return Math.min(nanos / 2, Math.max(MIN_MARGIN_NANOS, (long) (nanos * MARGIN_RATIO)));
+    }
+}
@@ -0,0 +1,139 @@
+package asg.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Tabel transposisi berkapasitas tetap yang disimpan dalam array {@code long} primitif.
+ * <p>
+ * Setiap entri menempati dua slot: kunci hash untuk verifikasi dan data yang dipadatkan
+ * (skor, langkah terbaik, kedalaman, jenis batas, dan umur). Tabel dibagi menjadi bucket berisi dua entri:
+ * entri pertama hanya diganti oleh hasil yang lebih dalam (atau yang sudah usang), sedangkan entri kedua
+ * selalu diganti.
+ * <p>
+ * Tabel dapat dipakai bersama oleh beberapa thread tanpa penguncian. Kunci disimpan sebagai {@code key ^ data},
+ * sehingga entri yang sedang ditulis oleh thread lain (kunci dan data tidak cocok) akan dianggap tidak ditemukan.
+ */
+public class TranspositionTable {
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    // Tata letak data: skor [0, 32), langkah [32, 40), kedalaman [40, 48), batas [48, 50), umur [50, 58)
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int BOUND_SHIFT = 48;
+    private static final int AGE_SHIFT = 50;
+    private static final int AGE_MASK = 0xFF;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int LONGS_PER_BUCKET = 2 * LONGS_PER_ENTRY;
+
+    private final long[] slots;
+    private final int bucketMask;
+    private int age;
+
+    /**
+     * Membuat tabel transposisi dengan ukuran memori yang diberikan.
+     * Banyak bucket dibulatkan ke bawah menjadi pangkat dua.
+     *
+     * @param sizeMb Ukuran tabel dalam megabyte.
+     * @throws IllegalArgumentException Jika {@code sizeMb} tidak bernilai positif.
+     */
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb <= 0) throw new IllegalArgumentException("Table size must be positive");
+
+        long buckets = ((long) sizeMb << 20) / (LONGS_PER_BUCKET * Long.BYTES);
+        int bucketCount = Integer.highestOneBit((int) Math.min(buckets, 1 << 26));
+        this.slots = new long[bucketCount * LONGS_PER_BUCKET];
+        this.bucketMask = bucketCount - 1;
+    }
+
+    /**
+     * Mencari entri untuk posisi dengan hash yang diberikan.
+     *
+     * @param key Hash Zobrist dari posisi.
+     * @return Data entri yang dipadatkan, atau {@code 0} jika posisi tidak ditemukan.
+     */
+    public long probe(long key) {
+        int base = this.indexOf(key);
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            long data = this.slots[i + 1];
+            if (data != 0 && (this.slots[i] ^ data) == key) return data;
+        }
+        return 0;
+    }
+
+    /**
+     * Menyimpan hasil pencarian sebuah posisi.
+     *
+     * @param key   Hash Zobrist dari posisi.
+     * @param depth Sisa kedalaman pencarian yang menghasilkan skor ini.
+     * @param bound Jenis batas skor: {@code BOUND_EXACT}, {@code BOUND_LOWER}, atau {@code BOUND_UPPER}.
+     * @param score Skor hasil pencarian.
+     * @param move  Langkah terbaik yang ditemukan.
+     */
+    public void store(long key, int depth, int bound, int score, byte move) {
+        long data = (score & 0xFFFFFFFFL)
+                | (move & 0xFFL) << MOVE_SHIFT
+                | (depth & 0xFFL) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) this.age << AGE_SHIFT;
+
+        // Entri prioritas kedalaman diganti jika posisinya sama, kosong, usang, atau tidak lebih dalam
+        int base = this.indexOf(key);
+        long current = this.slots[base + 1];
+        int target = (this.slots[base] ^ current) == key || current == 0 || ageOf(current) != this.age || depth >= depthOf(current)
+                ? base
+                : base + LONGS_PER_ENTRY;
+        this.slots[target] = key ^ data;
+        this.slots[target + 1] = data;
+    }
+
+    /**
+     * Menandai awal pencarian baru sehingga entri dari pencarian sebelumnya dianggap usang.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Menghapus semua entri pada tabel.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, 0);
+    }
+
+    /**
+     * Mengembalikan banyak entri yang dapat disimpan oleh tabel ini.
+     *
+     * @return Kapasitas tabel dalam entri.
+     */
+    public int capacity() {
+        return this.slots.length / LONGS_PER_ENTRY;
+    }
+
+    public static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    public static byte moveOf(long data) {
+        return (byte) (data >>> MOVE_SHIFT);
+    }
+
+    public static int depthOf(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int boundOf(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int ageOf(long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+
+    private int indexOf(long key) {
+        return ((int) (key >>> 32) & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+}
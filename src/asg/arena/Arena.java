@@ -0,0 +1,237 @@
+package asg.arena;
+
+import asg.BotProvider;
+import asg.Vars;
+import asg.algorithm.TimeManager;
+import asg.bot.BotBase;
+import asg.struct.Board;
+import asg.struct.Coordinate;
+import asg.struct.PlayerMarks;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Arena pertandingan tanpa antarmuka grafis untuk mengadu dua bot dalam banyak permainan.
+ * <p>
+ * Warna kedua bot ditukar setiap permainan, dan setiap langkah dibatasi oleh waktu (per langkah dan/atau per permainan,
+ * melalui {@code TimeManager}) dan/atau banyak simpul.
+ * Hasil setiap permainan ditulis ke berkas CSV atau JSON Lines begitu permainan selesai.
+ * <p>
+ * Contoh penggunaan:
+ * <pre>
+ * java asg.arena.Arena --bot1 "Minimax Bot" --bot2 "Local Search Bot" --games 100 --rounds 8 --time 1 --out hasil.csv
+ * </pre>
+ */
+public class Arena {
+    // Batas banyak ronde sama dengan pilihan pada antarmuka grafis; 28 ronde mengisi seluruh 56 kotak kosong awal
+    private static final int MIN_ROUNDS = 2;
+    private static final int MAX_ROUNDS = 28;
+
+    private final String bot1, bot2;
+    private final int games, rounds, parallelism;
+    private final PlayerMarks firstPlayer;
+    private final double moveTime, gameTime;
+    private final long nodeBudget;
+    private final boolean pondering;
+
+    /**
+     * Membuat arena pertandingan.
+     *
+     * @param bot1        Kunci {@code BotProvider} untuk bot pertama.
+     * @param bot2        Kunci {@code BotProvider} untuk bot kedua.
+     * @param games       Banyak permainan.
+     * @param rounds      Banyak ronde setiap permainan.
+     * @param firstPlayer Pemain yang mendapat giliran pertama.
+     * @param moveTime    Batas waktu setiap langkah dalam detik, atau {@code 0} untuk tanpa batas.
+     * @param gameTime    Anggaran waktu setiap bot untuk satu permainan dalam detik, atau {@code 0} untuk tanpa anggaran.
+     * @param nodeBudget  Batas banyak simpul setiap langkah, atau {@code 0} untuk tanpa batas.
+     * @param parallelism Banyak permainan yang dijalankan bersamaan.
+     * @param pondering   {@code true} jika bot boleh berpikir selama giliran lawan.
+     * @throws IllegalArgumentException Jika salah satu bot tidak dikenal atau merupakan pemain manusia, jika banyak ronde
+     *                                  di luar 2 hingga 28, atau jika banyak permainan atau {@code parallelism} tidak
+     *                                  bernilai positif.
+     */
+    public Arena(String bot1, String bot2, int games, int rounds, PlayerMarks firstPlayer,
+                 double moveTime, double gameTime, long nodeBudget, int parallelism, boolean pondering) throws Exception {
+        if (BotProvider.getBot(bot1) == null || BotProvider.getBot(bot2) == null) {
+            throw new IllegalArgumentException("Human players cannot play in the arena");
+        }
+        if (moveTime <= 0 && gameTime <= 0 && nodeBudget <= 0) {
+            throw new IllegalArgumentException("Either a move time, a game time or a node budget is required");
+        }
+        if (rounds < MIN_ROUNDS || rounds > MAX_ROUNDS) {
+            throw new IllegalArgumentException(String.format("Rounds must be between %d and %d", MIN_ROUNDS, MAX_ROUNDS));
+        }
+        if (games <= 0) throw new IllegalArgumentException("Game count must be positive");
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+
+        this.bot1 = bot1;
+        this.bot2 = bot2;
+        this.games = games;
+        this.rounds = rounds;
+        this.firstPlayer = firstPlayer;
+        this.moveTime = moveTime;
+        this.gameTime = gameTime;
+        this.nodeBudget = nodeBudget;
+        this.parallelism = parallelism;
+        this.pondering = pondering;
+    }
+
+    /**
+     * Menjalankan seluruh permainan dalam arena.
+     *
+     * @param out     Penulis hasil permainan, atau {@code null} jika hasil tidak perlu ditulis.
+     * @param summary Rekapitulasi yang diperbarui setiap kali sebuah permainan selesai.
+     * @throws InterruptedException Jika thread dihentikan saat menunggu permainan selesai.
+     */
+    public void run(ResultWriter out, ArenaSummary summary) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(this.parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int game = 0; game < this.games; game++) {
+                final int finalGame = game;
+                futures.add(pool.submit(() -> {
+                    GameResult result = this.play(finalGame);
+                    summary.add(result);
+                    if (out != null) out.write(result);
+                    System.err.printf("Game %d: X=%s %d - %d O=%s%n",
+                            finalGame, result.botX(), result.scoreX(), result.scoreO(), result.botO());
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Game failed:");
+                    e.getCause().printStackTrace();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Memainkan sebuah permainan hingga selesai. Bot pertama bermain sebagai X pada permainan bernomor genap.
+     *
+     * @param game Nomor permainan.
+     * @return Hasil permainan.
+     * @throws Exception Jika bot gagal dibuat atau memilih langkah yang tidak sah.
+     */
+    GameResult play(int game) throws Exception {
+        boolean firstBotIsX = game % 2 == 0;
+        String keyX = firstBotIsX ? this.bot1 : this.bot2;
+        String keyO = firstBotIsX ? this.bot2 : this.bot1;
+
+        // Setiap permainan memakai instance bot tersendiri agar keadaan pencarian tidak tercampur
+        BotBase botX = BotProvider.getBot(keyX), botO = BotProvider.getBot(keyO);
+        for (BotBase bot : new BotBase[]{botX, botO}) {
+            bot.setNodeBudget(this.nodeBudget);
+            bot.setTimeManager(new TimeManager(this.moveTime, this.gameTime));
+        }
+
+        Board board = Board.initial(this.firstPlayer, this.rounds);
+        int plies = board.getPliesLeft();
+        byte[] moves = new byte[plies];
+        long[] moveNanos = new long[plies];
+        long[] moveNodes = new long[plies];
+
+        int ply = 0;
+        while (!board.isTerminal()) {
+            BotBase bot = board.getCurrentPlayer() == PlayerMarks.X ? botX : botO;
+
+            long start = System.nanoTime();
+            int[] move = bot.move(new Board(board));
+            moveNanos[ply] = System.nanoTime() - start;
+
+            moveNodes[ply] = bot.getNodeCount();
+            moves[ply] = Coordinate.of(move[0], move[1]);
+            board.act(move[0], move[1]);
+            ply++;
+
+            if (this.pondering) bot.startPondering(board);
+        }
+        botX.stopPondering();
+        botO.stopPondering();
+
+        return new GameResult(game, keyX, keyO, firstBotIsX, this.firstPlayer, this.rounds,
+                board.getPlayerXScore(), board.getPlayerOScore(),
+                Arrays.copyOf(moves, ply), Arrays.copyOf(moveNanos, ply), Arrays.copyOf(moveNodes, ply));
+    }
+
+    /**
+     * Penulis hasil permainan ke berkas. Format ditentukan dari ekstensi berkas: {@code .csv} atau {@code .jsonl}.
+     * Setiap hasil langsung di-flush sehingga hasil yang sudah selesai tidak hilang jika arena dihentikan.
+     */
+    public static class ResultWriter implements Closeable {
+        private final PrintWriter writer;
+        private final boolean csv;
+
+        public ResultWriter(File file) throws IOException {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) this.csv = true;
+            else if (name.endsWith(".jsonl") || name.endsWith(".json")) this.csv = false;
+            else throw new IllegalArgumentException(String.format("Unsupported output format '%s'", file.getName()));
+
+            this.writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+            if (this.csv) {
+                this.writer.println(GameResult.CSV_HEADER);
+                this.writer.flush();
+            }
+        }
+
+        public synchronized void write(GameResult result) {
+            this.writer.println(this.csv ? result.toCsv() : result.toJson());
+            this.writer.flush();
+        }
+
+        @Override
+        public synchronized void close() {
+            this.writer.close();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.printf("Unexpected argument '%s'%n", args[i]);
+                printUsage();
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        if (!options.containsKey("bot1") || !options.containsKey("bot2")) {
+            printUsage();
+            System.exit(2);
+        }
+
+        String bot1 = options.get("bot1"), bot2 = options.get("bot2");
+        Arena arena = new Arena(bot1, bot2,
+                Integer.parseInt(options.getOrDefault("games", "10")),
+                Integer.parseInt(options.getOrDefault("rounds", "8")),
+                PlayerMarks.valueOf(options.getOrDefault("first", "X").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(options.getOrDefault("time", String.valueOf(Vars.MOVE_MAX_TIME))),
+                Double.parseDouble(options.getOrDefault("game-time", "0")),
+                Long.parseLong(options.getOrDefault("nodes", "0")),
+                Integer.parseInt(options.getOrDefault("parallel", "1")),
+                Boolean.parseBoolean(options.getOrDefault("ponder", "false")));
+
+        ArenaSummary summary = new ArenaSummary();
+        String outPath = options.get("out");
+        try (ResultWriter out = outPath == null ? null : new ResultWriter(new File(outPath))) {
+            arena.run(out, summary);
+        }
+        System.out.println(summary.format(bot1, bot2));
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: Arena --bot1 <bot> --bot2 <bot> [--games N] [--rounds N] [--first X|O]"
+                + " [--time SECONDS] [--game-time SECONDS] [--nodes N] [--parallel N] [--ponder true|false] [--out FILE.csv|FILE.jsonl]");
+        System.err.println("Bots: " + String.join(", ", BotProvider.getBotKeys()));
+    }
+}
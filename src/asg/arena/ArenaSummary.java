@@ -0,0 +1,111 @@
+package asg.arena;
+
+import asg.struct.PlayerMarks;
+
+import java.util.Locale;
+
+/**
+ * Rekapitulasi hasil pertandingan dua bot dalam arena, dihitung dari sudut pandang bot pertama.
+ */
+public class ArenaSummary {
+    // Nilai z untuk selang kepercayaan 95%
+    private static final double Z_95 = 1.96;
+
+    private int wins, draws, losses;
+    private final long[] moveNanos = new long[2];
+    private final long[] moveNodes = new long[2];
+    private final int[] moveCounts = new int[2];
+
+    /**
+     * Menambahkan hasil sebuah permainan ke rekapitulasi.
+     *
+     * @param result Hasil permainan.
+     */
+    public synchronized void add(GameResult result) {
+        double score = result.firstBotScore();
+        if (score == 1) this.wins++;
+        else if (score == 0) this.losses++;
+        else this.draws++;
+
+        // Langkah ke-i dimainkan oleh X jika i genap dan X mendapat giliran pertama
+        boolean xFirst = result.firstPlayer() == PlayerMarks.X;
+        for (int i = 0; i < result.moves().length; i++) {
+            boolean byX = (i % 2 == 0) == xFirst;
+            int bot = byX == result.firstBotIsX() ? 0 : 1;
+            this.moveNanos[bot] += result.moveNanos()[i];
+            this.moveNodes[bot] += result.moveNodes()[i];
+            this.moveCounts[bot]++;
+        }
+    }
+
+    public synchronized int getGameCount() {
+        return this.wins + this.draws + this.losses;
+    }
+
+    /**
+     * Mengembalikan skor rata-rata bot pertama per permainan.
+     *
+     * @return Skor rata-rata dalam rentang [0, 1].
+     */
+    public synchronized double getScore() {
+        int games = this.getGameCount();
+        return games == 0 ? 0.5 : (this.wins + 0.5 * this.draws) / games;
+    }
+
+    /**
+     * Mengembalikan selisih Elo bot pertama terhadap bot kedua beserta selang kepercayaan 95%. Selang dihitung
+     * dengan selang skor Wilson pada skor rata-rata, sehingga tetap lebar untuk sampel kecil maupun sampel yang
+     * seluruh hasilnya sama (misalnya semua seri atau semua menang).
+     *
+     * @return Array berisi {@code {elo, batas bawah, batas atas}}.
+     */
+    public synchronized double[] getEloDifference() {
+        int games = this.getGameCount();
+        double score = this.getScore();
+        if (games == 0) return new double[]{toElo(score), Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+
+        double z2 = Z_95 * Z_95 / games;
+        double center = (score + z2 / 2) / (1 + z2);
+        double margin = Z_95 / (1 + z2) * Math.sqrt(score * (1 - score) / games + z2 / (4 * games));
+        return new double[]{toElo(score), toElo(center - margin), toElo(center + margin)};
+    }
+
+    /**
+     * Mengembalikan rata-rata lama pencarian per langkah dalam milidetik.
+     *
+     * @param bot Indeks bot: {@code 0} untuk bot pertama, {@code 1} untuk bot kedua.
+     * @return Rata-rata lama pencarian per langkah.
+     */
+    public synchronized double getMeanMoveMillis(int bot) {
+        return this.moveCounts[bot] == 0 ? 0 : this.moveNanos[bot] / 1e6 / this.moveCounts[bot];
+    }
+
+    /**
+     * Mengembalikan banyak simpul yang diperiksa per detik CPU pencarian.
+     *
+     * @param bot Indeks bot: {@code 0} untuk bot pertama, {@code 1} untuk bot kedua.
+     * @return Banyak simpul per detik.
+     */
+    public synchronized double getNodesPerSecond(int bot) {
+        return this.moveNanos[bot] == 0 ? 0 : this.moveNodes[bot] * 1e9 / this.moveNanos[bot];
+    }
+
+    public synchronized String format(String bot1, String bot2) {
+        double[] elo = this.getEloDifference();
+        return String.format(Locale.ROOT,
+                "Games: %d  W/D/L: %d/%d/%d  Score: %.3f%n"
+                        + "Elo difference: %+.1f (95%% CI %+.1f .. %+.1f, n=%d)%n"
+                        + "%-24s %10.2f ms/move %14.0f nodes/s%n"
+                        + "%-24s %10.2f ms/move %14.0f nodes/s",
+                this.getGameCount(), this.wins, this.draws, this.losses, this.getScore(),
+                elo[0], elo[1], elo[2], this.getGameCount(),
+                bot1, this.getMeanMoveMillis(0), this.getNodesPerSecond(0),
+                bot2, this.getMeanMoveMillis(1), this.getNodesPerSecond(1));
+    }
+
+    private static double toElo(double score) {
+        if (score <= 0) return Double.NEGATIVE_INFINITY;
+        if (score >= 1) return Double.POSITIVE_INFINITY;
+        return 400 * Math.log10(score / (1 - score));
+    }
+}
@@ -0,0 +1,86 @@
+package asg.arena;
+
+import asg.struct.Coordinate;
+import asg.struct.PlayerMarks;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Hasil sebuah permainan dalam arena.
+ *
+ * @param game        Nomor permainan.
+ * @param botX        Kunci {@code BotProvider} untuk bot yang bermain sebagai X.
+ * @param botO        Kunci {@code BotProvider} untuk bot yang bermain sebagai O.
+ * @param firstBotIsX {@code true} jika bot pertama arena bermain sebagai X.
+ * @param firstPlayer Pemain yang mendapat giliran pertama.
+ * @param rounds      Banyak ronde permainan.
+ * @param scoreX      Skor akhir pemain X.
+ * @param scoreO      Skor akhir pemain O.
+ * @param moves       Langkah-langkah permainan secara berurutan, dalam format {@code Coordinate}.
+ * @param moveNanos   Lama pencarian setiap langkah dalam nanodetik.
+ * @param moveNodes   Banyak simpul yang diperiksa bot untuk setiap langkah.
+ */
+public record GameResult(int game, String botX, String botO, boolean firstBotIsX, PlayerMarks firstPlayer, int rounds,
+                         int scoreX, int scoreO, byte[] moves, long[] moveNanos, long[] moveNodes) {
+    public static final String CSV_HEADER = "game,bot_x,bot_o,first_player,rounds,score_x,score_o,winner,moves,move_ms,move_nodes";
+
+    /**
+     * Mengembalikan pemenang permainan.
+     *
+     * @return {@code X} atau {@code O}, atau {@code EMPTY} jika permainan seri.
+     */
+    public PlayerMarks winner() {
+        if (this.scoreX > this.scoreO) return PlayerMarks.X;
+        if (this.scoreO > this.scoreX) return PlayerMarks.O;
+        return PlayerMarks.EMPTY;
+    }
+
+    /**
+     * Mengembalikan skor permainan dari sudut pandang bot pertama arena: 1 untuk menang, 0.5 untuk seri, 0 untuk kalah.
+     *
+     * @return Skor bot pertama.
+     */
+    public double firstBotScore() {
+        PlayerMarks winner = this.winner();
+        if (winner == PlayerMarks.EMPTY) return 0.5;
+        return (winner == PlayerMarks.X) == this.firstBotIsX ? 1 : 0;
+    }
+
+    public String toCsv() {
+        StringJoiner moves = new StringJoiner(";"), millis = new StringJoiner(";"), nodes = new StringJoiner(";");
+        for (int i = 0; i < this.moves.length; i++) {
+            moves.add(Coordinate.getX(this.moves[i]) + "-" + Coordinate.getY(this.moves[i]));
+            millis.add(String.format(Locale.ROOT, "%.3f", this.moveNanos[i] / 1e6));
+            nodes.add(String.valueOf(this.moveNodes[i]));
+        }
+        return String.join(",",
+                String.valueOf(this.game), quoteCsv(this.botX), quoteCsv(this.botO), this.firstPlayer.toString(),
+                String.valueOf(this.rounds), String.valueOf(this.scoreX), String.valueOf(this.scoreO),
+                this.winner() == PlayerMarks.EMPTY ? "draw" : this.winner().toString(),
+                moves.toString(), millis.toString(), nodes.toString());
+    }
+
+    public String toJson() {
+        StringJoiner moves = new StringJoiner(",", "[", "]"), millis = new StringJoiner(",", "[", "]"), nodes = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < this.moves.length; i++) {
+            moves.add("[" + Coordinate.getX(this.moves[i]) + "," + Coordinate.getY(this.moves[i]) + "]");
+            millis.add(String.format(Locale.ROOT, "%.3f", this.moveNanos[i] / 1e6));
+            nodes.add(String.valueOf(this.moveNodes[i]));
+        }
+        return String.format(Locale.ROOT,
+                "{\"game\":%d,\"bot_x\":%s,\"bot_o\":%s,\"first_player\":\"%s\",\"rounds\":%d,\"score_x\":%d,\"score_o\":%d,"
+                        + "\"winner\":\"%s\",\"moves\":%s,\"move_ms\":%s,\"move_nodes\":%s}",
+                this.game, quoteJson(this.botX), quoteJson(this.botO), this.firstPlayer, this.rounds, this.scoreX, this.scoreO,
+                this.winner() == PlayerMarks.EMPTY ? "draw" : this.winner().toString(),
+                moves, millis, nodes);
+    }
+
+    private static String quoteCsv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String quoteJson(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,178 @@
+package asg.book;
+
+import asg.Vars;
+import asg.struct.Bitboards;
+import asg.struct.Board;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * Buku pembukaan yang dibaca dari berkas biner melalui memory-mapping, sehingga langkah pembukaan dapat
+ * ditemukan seketika tanpa memuat seluruh berkas ke heap.
+ * <p>
+ * Berkas terdiri dari header (magic dan banyak rekaman) diikuti rekaman berukuran 16 byte yang terurut menaik
+ * berdasarkan hash Zobrist lalu sisa ply: hash Zobrist posisi dan data yang dipadatkan (skor, langkah terbaik,
+ * kedalaman pencarian, dan sisa ply). Sisa ply ikut disimpan karena hash Zobrist tidak membedakan banyak ronde
+ * yang tersisa, padahal langkah terbaik bergantung padanya.
+ * <p>
+ * Buku dibangun secara offline dengan {@code OpeningBookBuilder}.
+ */
+public class OpeningBook {
+    static final long MAGIC = 0x4153474F50424B31L;
+    static final int HEADER_BYTES = 2 * Long.BYTES;
+    static final int RECORD_BYTES = 2 * Long.BYTES;
+
+    // Tata letak data: skor [0, 32), langkah [32, 40), kedalaman [40, 48), sisa ply [48, 56)
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int PLIES_SHIFT = 48;
+
+    private static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(0), 0);
+    private static volatile OpeningBook defaultBook;
+
+    private final ByteBuffer records;
+    private final int size;
+
+    private OpeningBook(ByteBuffer records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    /**
+     * Membuka buku pembukaan dari berkas.
+     *
+     * @param path Lokasi berkas buku.
+     * @return Buku pembukaan.
+     * @throws IOException Jika berkas gagal dibaca atau bukan berkas buku pembukaan.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Pemetaan tetap berlaku setelah channel ditutup
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.BIG_ENDIAN);
+            if (buffer.limit() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+                throw new IOException(String.format("'%s' is not an opening book", path));
+            }
+
+            long size = buffer.getLong(Long.BYTES);
+            if (size < 0 || HEADER_BYTES + size * RECORD_BYTES != buffer.limit()) {
+                throw new IOException(String.format("Opening book '%s' is truncated", path));
+            }
+            return new OpeningBook(buffer.slice(HEADER_BYTES, (int) size * RECORD_BYTES), (int) size);
+        }
+    }
+
+    /**
+     * Mengembalikan buku pembukaan bawaan dari {@code Vars.OPENING_BOOK_PATH}. Buku dibuka sekali dan dipakai bersama.
+     * Jika berkas tidak ada atau tidak dapat dibaca, buku kosong yang dikembalikan.
+     *
+     * @return Buku pembukaan bawaan.
+     */
+    public static OpeningBook getDefault() {
+        if (defaultBook == null) {
+            synchronized (OpeningBook.class) {
+                if (defaultBook == null) {
+                    Path path = Paths.get(Vars.OPENING_BOOK_PATH);
+                    try {
+                        defaultBook = Files.isRegularFile(path) ? open(path) : EMPTY;
+                    } catch (IOException e) {
+                        System.err.println("Failed to open opening book: " + e.getMessage());
+                        defaultBook = EMPTY;
+                    }
+                }
+            }
+        }
+        return defaultBook;
+    }
+
+    /**
+     * Mencari rekaman untuk posisi yang diberikan dengan pencarian biner.
+     *
+     * @param board Kondisi terkini papan permainan.
+     * @return Data rekaman yang dipadatkan, atau {@code 0} jika posisi tidak ada dalam buku atau langkahnya tidak sah.
+     */
+    public long probe(Board board) {
+        long key = board.zobristHash();
+        int plies = board.getPliesLeft();
+
+        int low = 0, high = this.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = this.records.getLong(mid * RECORD_BYTES);
+            long midData = this.records.getLong(mid * RECORD_BYTES + Long.BYTES);
+            int compare = midKey != key ? Long.compare(midKey, key) : Integer.compare(pliesOf(midData), plies);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                // Hash dapat bertabrakan, jadi pastikan langkahnya masih sah pada papan ini
+                long bit = 1L << Bitboards.indexOf(moveOf(midData));
+                return (board.getEmptyMask() & bit) != 0 ? midData : 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Mengembalikan banyak rekaman dalam buku.
+     *
+     * @return Banyak rekaman.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Menulis rekaman buku ke berkas. Rekaman diurutkan terlebih dahulu berdasarkan hash lalu sisa ply.
+     *
+     * @param path  Lokasi berkas tujuan.
+     * @param keys  Hash Zobrist setiap posisi.
+     * @param data  Data rekaman yang dipadatkan dengan {@link #pack}, dengan urutan yang sama dengan {@code keys}.
+     * @param count Banyak rekaman.
+     * @throws IOException Jika berkas gagal ditulis.
+     */
+    static void write(Path path, long[] keys, long[] data, int count) throws IOException {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (i, j) -> keys[i] != keys[j]
+                ? Long.compare(keys[i], keys[j])
+                : Integer.compare(pliesOf(data[i]), pliesOf(data[j])));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeLong(MAGIC);
+            out.writeLong(count);
+            for (int i : order) {
+                out.writeLong(keys[i]);
+                out.writeLong(data[i]);
+            }
+        }
+    }
+
+    static long pack(int score, byte move, int depth, int plies) {
+        return (score & 0xFFFFFFFFL)
+                | (move & 0xFFL) << MOVE_SHIFT
+                | (depth & 0xFFL) << DEPTH_SHIFT
+                | (plies & 0xFFL) << PLIES_SHIFT;
+    }
+
+    public static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    public static byte moveOf(long data) {
+        return (byte) (data >>> MOVE_SHIFT);
+    }
+
+    public static int depthOf(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int pliesOf(long data) {
+        return (int) (data >>> PLIES_SHIFT) & 0xFF;
+    }
+}
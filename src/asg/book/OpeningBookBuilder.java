@@ -0,0 +1,167 @@
+package asg.book;
+
+import asg.Vars;
+import asg.algorithm.SearchEngine;
+import asg.algorithm.SearchReport;
+import asg.struct.Bitboards;
+import asg.struct.Board;
+import asg.struct.PlayerMarks;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pembangun buku pembukaan secara offline. Dari setiap posisi awal (setiap banyak ronde dan pemain pertama),
+ * posisi-posisi pembukaan dicari dengan pencarian Minimax berkedalaman tetap, lalu hasilnya ditulis ke berkas
+ * yang dapat dibaca oleh {@code OpeningBook}.
+ * <p>
+ * Posisi yang dimasukkan adalah semua posisi dalam {@code plies} ply pertama ketika pemilik buku mengikuti buku
+ * dan lawannya bebas memilih langkah apa pun, baik ketika pemilik buku bermain pertama maupun kedua.
+ * Posisi yang sudah dapat dipecahkan oleh {@code EndgameSolver} tidak dimasukkan.
+ * <p>
+ * Contoh penggunaan:
+ * <pre>
+ * java asg.book.OpeningBookBuilder --plies 2 --depth 7 --threads 8 --out resources/opening.book
+ * </pre>
+ */
+public class OpeningBookBuilder {
+    private final int minRounds, maxRounds, plies, depth, threads;
+    private final Map<PositionKey, Long> records = new ConcurrentHashMap<>();
+
+    private record PositionKey(long hash, int pliesLeft) {
+    }
+
+    /**
+     * @param minRounds Banyak ronde terkecil.
+     * @param maxRounds Banyak ronde terbesar.
+     * @param plies     Banyak ply pembukaan yang dimasukkan ke buku.
+     * @param depth     Kedalaman pencarian setiap posisi.
+     * @param threads   Banyak posisi awal yang diproses bersamaan.
+     */
+    public OpeningBookBuilder(int minRounds, int maxRounds, int plies, int depth, int threads) {
+        this.minRounds = minRounds;
+        this.maxRounds = maxRounds;
+        this.plies = plies;
+        this.depth = depth;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Membangun buku dari seluruh posisi awal.
+     *
+     * @throws InterruptedException Jika thread dihentikan saat menunggu pencarian selesai.
+     * @throws ExecutionException   Jika salah satu pencarian gagal.
+     */
+    public void build() throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        // Setiap thread memakai mesin pencarian satu thread miliknya sendiri
+        ThreadLocal<SearchEngine> engines = ThreadLocal.withInitial(() -> new SearchEngine(1, Vars.TRANSPOSITION_TABLE_SIZE_MB));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int rounds = this.minRounds; rounds <= this.maxRounds; rounds++) {
+                for (PlayerMarks firstPlayer : new PlayerMarks[]{PlayerMarks.X, PlayerMarks.O}) {
+                    for (PlayerMarks bookPlayer : new PlayerMarks[]{PlayerMarks.X, PlayerMarks.O}) {
+                        Board board = Board.initial(firstPlayer, rounds);
+                        futures.add(pool.submit(() -> {
+                            this.expand(engines.get(), board, bookPlayer, 0);
+                            return null;
+                        }));
+                    }
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).get();
+                System.err.printf("Start position %d/%d done, %d records%n", i + 1, futures.size(), this.records.size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Menelusuri posisi pembukaan secara rekursif. Pada giliran pemilik buku, posisi dicari dan hanya langkah
+     * terbaiknya yang diikuti; pada giliran lawan, semua langkah diikuti.
+     */
+    private void expand(SearchEngine engine, Board board, PlayerMarks bookPlayer, int ply) {
+        if (ply >= this.plies || board.getPliesLeft() <= Vars.ENDGAME_SOLVER_PLIES) return;
+
+        if (board.getCurrentPlayer() == bookPlayer) {
+            byte move = this.search(engine, board);
+            Board next = new Board(board);
+            next.act(move);
+            this.expand(engine, next, bookPlayer, ply + 1);
+        } else {
+            for (long empty = board.getEmptyMask(); empty != 0; empty &= empty - 1) {
+                Board next = new Board(board);
+                next.act(Bitboards.coordinateOf(Long.numberOfTrailingZeros(empty)));
+                this.expand(engine, next, bookPlayer, ply + 1);
+            }
+        }
+    }
+
+    /**
+     * Mencari langkah terbaik sebuah posisi, atau memakai hasil yang sudah ada jika posisi ini sudah pernah dicari.
+     */
+    private byte search(SearchEngine engine, Board board) {
+        PositionKey key = new PositionKey(board.zobristHash(), board.getPliesLeft());
+        Long existing = this.records.get(key);
+        if (existing != null) return OpeningBook.moveOf(existing);
+
+        int searchDepth = Math.min(this.depth, board.getPliesLeft());
+        byte move = engine.startSearch(board, () -> false, searchDepth);
+        SearchReport report = engine.getLastReport();
+        this.records.put(key, OpeningBook.pack(report.score(), move, report.depth(), board.getPliesLeft()));
+        return move;
+    }
+
+    /**
+     * Menulis hasil pembangunan ke berkas.
+     *
+     * @param path Lokasi berkas tujuan.
+     * @throws IOException Jika berkas gagal ditulis.
+     */
+    public void write(String path) throws IOException {
+        int count = this.records.size();
+        long[] keys = new long[count];
+        long[] data = new long[count];
+        int i = 0;
+        for (Map.Entry<PositionKey, Long> record : this.records.entrySet()) {
+            keys[i] = record.getKey().hash();
+            data[i] = record.getValue();
+            i++;
+        }
+        OpeningBook.write(Paths.get(path), keys, data, count);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.printf("Unexpected argument '%s'%n", args[i]);
+                printUsage();
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(
+                Integer.parseInt(options.getOrDefault("min-rounds", "2")),
+                Integer.parseInt(options.getOrDefault("max-rounds", "28")),
+                Integer.parseInt(options.getOrDefault("plies", "2")),
+                Integer.parseInt(options.getOrDefault("depth", "7")),
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))));
+
+        long start = System.nanoTime();
+        builder.build();
+        String out = options.getOrDefault("out", Vars.OPENING_BOOK_PATH);
+        builder.write(out);
+        System.err.printf("Wrote %d records to %s in %.1f s%n", builder.records.size(), out, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: OpeningBookBuilder [--min-rounds N] [--max-rounds N] [--plies N] [--depth N]"
+                + " [--threads N] [--out FILE]");
+    }
+}
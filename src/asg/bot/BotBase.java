@@ -1,10 +1,15 @@
 package asg.bot;
 
+import asg.Vars;
+import asg.algorithm.TimeManager;
 import asg.struct.Board;
 import asg.struct.Coordinate;
 
 public abstract class BotBase {
-    private boolean stopped = false;
+    private volatile boolean stopped = false;
+    private volatile long nodeBudget = 0;
+    private volatile TimeManager timeManager = new TimeManager(Vars.MOVE_MAX_TIME);
+    private long nodeCount = 0;
 
     /**
      * Menghentikan pencarian oleh bot.
@@ -18,7 +23,66 @@ public abstract class BotBase {
      * @return {@code true} jika pencarian bot sudah dihentikan.
      */
     public final boolean isStopped() {
-        return this.stopped;
+        return this.stopped || this.timeManager.isHardExpired() || (this.nodeBudget > 0 && this.getNodeCount() >= this.nodeBudget);
+    }
+
+    /**
+     * Mengembalikan apakah bot sebaiknya tidak memulai iterasi baru, yaitu jika pencarian sudah dihentikan
+     * atau tenggat lunak pengatur waktu sudah lewat.
+     * @return {@code true} jika bot sebaiknya segera mengembalikan hasil terbaiknya.
+     */
+    protected final boolean isSoftStopped() {
+        return this.isStopped() || this.timeManager.isSoftExpired();
+    }
+
+    /**
+     * Mengganti pengatur waktu bot. Secara bawaan, setiap langkah dibatasi oleh {@code Vars.MOVE_MAX_TIME}.
+     * @param timeManager Pengatur waktu yang baru.
+     */
+    public final void setTimeManager(TimeManager timeManager) {
+        this.timeManager = timeManager;
+    }
+
+    protected final TimeManager getTimeManager() {
+        return this.timeManager;
+    }
+
+    /**
+     * Menetapkan batas banyak simpul yang boleh diperiksa bot dalam satu langkah.
+     * Pencarian dianggap dihentikan begitu batas ini tercapai.
+     * @param nodeBudget Batas banyak simpul per langkah, atau {@code 0} untuk tanpa batas.
+     */
+    public final void setNodeBudget(long nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Mengembalikan banyak simpul yang sudah diperiksa bot pada pencarian langkah terakhir.
+     * @return Banyak simpul yang diperiksa.
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Menambahkan banyak simpul yang diperiksa pada pencarian langkah saat ini.
+     * @param count Banyak simpul yang baru diperiksa.
+     */
+    protected final void addNodes(long count) {
+        this.nodeCount += count;
+    }
+
+    /**
+     * Meminta bot untuk berpikir selama giliran lawan (pondering). Secara bawaan bot tidak melakukan apa-apa.
+     * @param board Keadaan papan setelah langkah bot ini, dengan lawan yang mendapat giliran.
+     */
+    public void startPondering(Board board) {
+    }
+
+    /**
+     * Menghentikan pondering yang sedang berjalan. Dipanggil otomatis ketika bot mulai mencari langkah.
+     */
+    public void stopPondering() {
     }
 
     /**
@@ -27,8 +91,16 @@ public abstract class BotBase {
      * @return Koordinat langkah yang ditemukan.
      */
     public final int[] move(Board board) {
+        this.stopPondering();
         this.stopped = false;
-        byte result = searchMove(board);
+        this.nodeCount = 0;
+        this.timeManager.start(board);
+        byte result;
+        try {
+            result = searchMove(board);
+        } finally {
+            this.timeManager.finish();
+        }
         return new int[]{Coordinate.getX(result), Coordinate.getY(result)};
     }
 
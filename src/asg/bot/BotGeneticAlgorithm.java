@@ -1,39 +1,105 @@
 package asg.bot;
 
+import asg.Vars;
+import asg.algorithm.BatchEvaluator;
 import asg.algorithm.Minimax;
-import asg.struct.ActionNode;
+import asg.struct.Bitboards;
 import asg.struct.Board;
 import asg.struct.Individual;
-import asg.struct.Tree;
+import asg.struct.SearchTree;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BotGeneticAlgorithm extends BotBase {
     private static final int n = 1500;
     private static final int k = 50;
     private static final double mutationRates = 0.033;
+    // Pada mode pulau, setiap pulau mengirim sekian individu terbaiknya ke pulau tetangga setiap sekian generasi
+    private static final int MIGRATION_INTERVAL = 10;
+    private static final int MIGRANT_COUNT = 2;
+
+    /**
+     * Topologi migrasi antarpulau.
+     */
+    public enum MigrationTopology {
+        // Setiap pulau hanya mengirim individu ke pulau berikutnya
+        RING,
+        // Setiap pulau mengirim individu ke semua pulau lainnya
+        FULL
+    }
+
+    private final int threadCount;
+    private final int islandCount;
+    private final MigrationTopology topology;
+    private ThreadPoolExecutor helperPool;
+    // Pohon reservasi setiap pulau dipakai ulang pada setiap langkah agar array-arraynya tidak dialokasikan ulang
+    private SearchTree[] reservationTrees;
+    // Penilai daun untuk evaluateGeneration yang dipanggil di luar pencarian, satu untuk setiap bagian pekerjaan
+    private BatchEvaluator[] batchEvaluators;
+    // Banyak individu yang dievaluasi pada pencarian terakhir; dapat ditambah dari beberapa thread pulau
+    private final AtomicLong evaluatedIndividuals = new AtomicLong();
+
+    /**
+     * Membuat bot Genetic Algorithm dengan banyak thread, banyak pulau, dan topologi migrasi bawaan
+     * ({@code Vars.SEARCH_THREAD_COUNT}, {@code Vars.GENETIC_ISLAND_COUNT}, dan {@code Vars.GENETIC_MIGRATION_TOPOLOGY}).
+     */
+    public BotGeneticAlgorithm() {
+        this(Vars.SEARCH_THREAD_COUNT, Vars.GENETIC_ISLAND_COUNT,
+                MigrationTopology.valueOf(Vars.GENETIC_MIGRATION_TOPOLOGY.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Membuat bot Genetic Algorithm dengan satu populasi.
+     * @param threadCount Banyak thread untuk evaluasi fitness, termasuk thread pemanggil.
+     * @throws IllegalArgumentException Jika {@code threadCount} tidak bernilai positif.
+     */
+    public BotGeneticAlgorithm(int threadCount) {
+        this(threadCount, 1, MigrationTopology.RING);
+    }
+
+    /**
+     * Membuat bot Genetic Algorithm. Jika banyak pulau lebih dari satu, setiap pulau berevolusi sebagai populasi
+     * tersendiri pada thread-nya sendiri dengan pohon reservasinya sendiri, dan individu terbaik setiap pulau
+     * berpindah secara berkala ke pulau tetangganya menurut topologi migrasi. Pada mode satu pulau, evaluasi fitness
+     * generasi dibagi ke {@code threadCount} thread.
+     * @param threadCount Banyak thread untuk evaluasi fitness pada mode satu pulau, termasuk thread pemanggil.
+     * @param islandCount Banyak pulau.
+     * @param topology Topologi migrasi antarpulau.
+     * @throws IllegalArgumentException Jika {@code threadCount} atau {@code islandCount} tidak bernilai positif.
+     */
+    public BotGeneticAlgorithm(int threadCount, int islandCount, MigrationTopology topology) {
+        if (threadCount <= 0) throw new IllegalArgumentException("Thread count must be positive");
+        if (islandCount <= 0) throw new IllegalArgumentException("Island count must be positive");
+        this.threadCount = threadCount;
+        this.islandCount = islandCount;
+        this.topology = Objects.requireNonNull(topology);
+    }
 
     /**
      * Memulai melakukan algoritma mutasi genetik dengan menciptakan k individu baru.
      * @param board Keadaan papan saat ini, yang digunakan sebagai titik mula pencarian.
+     * @param random Sumber bilangan acak milik thread pemanggil.
      * @return generation Kumpulan individu yang telah dibangkitkan.
      */
-    protected List<Individual> generateNewGeneration(Board board){
+    protected List<Individual> generateNewGeneration(Board board, SplittableRandom random){
         // Membuat array generasi yang akan diisi kumpulan individu
-        List<Individual> generation = new ArrayList<>();
+        List<Individual> generation = new ArrayList<>(k);
 
         // Membuat k individu, tiap individu memiliki kedalaman sebanyak pilihan jumlah ronde/ play.
+        byte[] emptySquares = new byte[Bitboards.SQUARE_COUNT];
         for (int i = 0; i < k; i++) {
-            List<Byte> emptySquares = board.getEmptySquares();
-            Individual individual = new Individual(new Byte[board.getPliesLeft()], new Tree<>(new ActionNode()));
+            int emptySquareCount = board.getEmptySquares(emptySquares);
+            Individual individual = new Individual(new byte[board.getPliesLeft()]);
 
             // Mengacak kotak yang masih tersedia di papan untuk diisikan pada tiap kedalaman individu yang sedang dibangkitkan.
+            // Kotak yang terpilih ditukar dengan kotak terakhir sehingga tidak terpilih lagi.
             for (int j = 0; j < board.getPliesLeft(); j++) {
-                int emptySquareIdx = (int) (Math.random() * emptySquares.size());
-                individual.setAction(j, emptySquares.get(emptySquareIdx));
-                emptySquares.remove(emptySquareIdx);
+                int emptySquareIdx = random.nextInt(emptySquareCount);
+                individual.setAction(j, emptySquares[emptySquareIdx]);
+                emptySquares[emptySquareIdx] = emptySquares[--emptySquareCount];
             }
-//            System.out.printf("Individual action is %s\n", String.join(", ", Arrays.stream(individual.actions).map(Object::toString).toArray(String[]::new)));
             generation.add(individual);
         }
 
@@ -42,66 +108,223 @@ public class BotGeneticAlgorithm extends BotBase {
     }
 
     /**
-     * Menyimpan aksi individu ke dalam bentuk pohon.
+     * Menyimpan aksi individu ke dalam bentuk pohon. Setiap simpul pada jalur individu ditandai dengan penanda
+     * waktu yang diberikan. Jika jalur tersebut menambah simpul baru, nilai seluruh simpul pada jalur dihapus
+     * agar dievaluasi ulang oleh {@code BatchEvaluator}.
      * @param reservationTree Pohon yang akan menyimpan aksi-aksi dari invidu,
      * @param individual Invidu yang akan disimpan aksinya dalam pohon.
+     * @param stamp Penanda waktu, yaitu nomor generasi saat ini.
+     * @return Banyak simpul baru yang dibuat.
      */
-    protected void reserve (Tree<ActionNode> reservationTree, Individual individual){
-        Tree<ActionNode> currentTree = reservationTree;
-        for (Byte action : individual.actions) {
-            ActionNode actionNode = new ActionNode(null, action);
-            if (!currentTree.hasChildTValue(actionNode)){
-                currentTree.addChild(new Tree<>(actionNode));
+    protected int reserve(SearchTree reservationTree, Individual individual, int stamp){
+        int currentNode = SearchTree.ROOT;
+        // Simpul lama terdalam pada jalur, yaitu tempat jalur individu mulai menambah simpul baru
+        int branchPoint = SearchTree.NONE;
+        int created = 0;
+        for (byte action : individual.actions) {
+            int child = reservationTree.getChild(currentNode, action);
+            if (child == SearchTree.NONE) {
+                if (created == 0) branchPoint = currentNode;
+                child = reservationTree.addChild(currentNode, action);
+                created++;
             }
-            currentTree = currentTree.getChild(actionNode);
+            reservationTree.setStamp(child, stamp);
+            currentNode = child;
+        }
+        individual.leaf = currentNode;
+
+        // Leluhur yang sudah ditandai berubah berarti seluruh leluhur di atasnya juga sudah ditandai
+        for (int node = branchPoint; node != SearchTree.NONE && reservationTree.hasScore(node); node = reservationTree.getParent(node)) {
+            reservationTree.clearScore(node);
         }
-        individual.leaf = currentTree;
+        return created;
+    }
 
+    /**
+     * Menyimpan aksi seluruh individu suatu generasi ke dalam pohon, lalu mengevaluasi pohon tersebut.
+     * @param reservationTree Pohon yang menyimpan aksi-aksi seluruh individu.
+     * @param board Kondisi papan permainan terkini.
+     * @param generation Generasi yang akan dievaluasi.
+     */
+    protected void evaluateGeneration(SearchTree reservationTree, Board board, List<Individual> generation) {
+        if (this.batchEvaluators == null) this.batchEvaluators = newBatchEvaluators(this.threadCount);
+        evaluateGeneration(reservationTree, board, generation, this.batchEvaluators, 0);
+    }
+
+    /**
+     * Menyimpan aksi seluruh individu suatu generasi ke dalam pohon, lalu mengevaluasi bagian pohon yang berubah.
+     * Anak akar yang berubah dibagi ke beberapa thread, paling banyak sebanyak penilai daun yang diberikan, dan
+     * setiap thread menilai daun-daun yang berubah pada seluruh subpohonnya sekaligus dengan penilainya sendiri.
+     */
+    private void evaluateGeneration(SearchTree reservationTree, Board board, List<Individual> generation,
+                                    BatchEvaluator[] evaluators, int stamp) {
+        // Menyimpan aksi individu yang akan dicek dalam reservation tree
+        for (Individual individual : generation) {
+            reserve(reservationTree, individual, stamp);
+        }
+
+        // Mengumpulkan anak akar yang berubah; bagian ke-t berisi anak ke-t, ke-(t + tasks), dan seterusnya
+        int[] changedChildren = new int[Bitboards.SQUARE_COUNT];
+        int changedCount = 0;
+        for (int child = reservationTree.getFirstChild(SearchTree.ROOT); child != SearchTree.NONE; child = reservationTree.getNextSibling(child)) {
+            if (!reservationTree.hasScore(child)) changedChildren[changedCount++] = child;
+        }
+        int tasks = Math.max(1, Math.min(evaluators.length, changedCount));
+
+        // Thread pemanggil ikut mengevaluasi bagian pertama
+        List<Future<?>> futures = new ArrayList<>(tasks - 1);
+        for (int t = 1; t < tasks; t++) {
+            int task = t, count = changedCount;
+            futures.add(this.getHelperPool().submit(() -> evaluateSubtrees(reservationTree, board, changedChildren, count, task, tasks, evaluators[task])));
+        }
+        evaluateSubtrees(reservationTree, board, changedChildren, changedCount, 0, tasks, evaluators[0]);
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while evaluating generation", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to evaluate generation", e.getCause());
+            }
+        }
+
+        // Akar adalah simpul max bagi pemain yang memegang giliran
+        int rootScore = Integer.MIN_VALUE;
+        for (int child = reservationTree.getFirstChild(SearchTree.ROOT); child != SearchTree.NONE; child = reservationTree.getNextSibling(child)) {
+            rootScore = Math.max(rootScore, reservationTree.getScore(child));
+        }
+        reservationTree.setScore(SearchTree.ROOT, rootScore);
+        this.evaluatedIndividuals.addAndGet(generation.size());
+    }
+
+    /**
+     * Mengevaluasi bagian yang berubah dari subpohon anak akar ke-{@code first}, ke-{@code first + step}, dan
+     * seterusnya. Daun yang berubah pada seluruh subpohon tersebut dikumpulkan dan dinilai sekaligus, lalu nilainya
+     * dirambatkan ke atas pada setiap subpohon.
+     */
+    private static void evaluateSubtrees(SearchTree reservationTree, Board board, int[] children, int count, int first,
+                                         int step, BatchEvaluator evaluator) {
+        Board subtreeBoard = new Board(board);
+        evaluator.clear();
+        for (int i = first; i < count; i += step) {
+            subtreeBoard.make(reservationTree.getMove(children[i]));
+            evaluator.collectChangedLeaves(reservationTree, children[i], subtreeBoard, board.getCurrentPlayer());
+            subtreeBoard.undo();
+        }
+        evaluator.scoreCollectedLeaves(reservationTree);
+        for (int i = first; i < count; i += step) {
+            Minimax.backupChangedTree(reservationTree, children[i], false);
+        }
+    }
+
+    private static BatchEvaluator[] newBatchEvaluators(int count) {
+        BatchEvaluator[] evaluators = new BatchEvaluator[count];
+        for (int i = 0; i < count; i++) {
+            evaluators[i] = new BatchEvaluator();
+        }
+        return evaluators;
+    }
+
+    /**
+     * Membuang cabang-cabang pohon reservasi yang paling lama tidak dilalui hingga banyak simpulnya tidak melebihi
+     * batas yang diberikan. Karena melalui sebuah simpul berarti melalui seluruh leluhurnya, penanda waktu setiap
+     * simpul tidak lebih baru daripada leluhurnya, sehingga membuang semua simpul dengan penanda waktu lebih lama dari
+     * suatu batas berarti membuang subpohon utuh. Simpul yang kehilangan anak ditandai berubah agar nilainya dihitung
+     * ulang pada evaluasi berikutnya; cabang dengan penanda waktu terbaru tidak pernah dibuang.
+     * @param reservationTree Pohon reservasi.
+     * @param stamp Penanda waktu terbaru pada pohon.
+     * @param targetSize Banyak simpul (tanpa akar) yang ingin dipertahankan.
+     * @return Banyak simpul yang dibuang.
+     */
+    protected static int evict(SearchTree reservationTree, int stamp, int targetSize) {
+        int[] counts = new int[stamp + 1];
+        countStamps(reservationTree, SearchTree.ROOT, counts);
+
+        // Mencari batas penanda waktu terlama yang masih dipertahankan
+        int cutoff = stamp, kept = counts[stamp], removed = 0;
+        while (cutoff > 0 && kept + counts[cutoff - 1] <= targetSize) {
+            kept += counts[--cutoff];
+        }
+        for (int i = 0; i < cutoff; i++) {
+            removed += counts[i];
+        }
+        if (removed > 0) removeBefore(reservationTree, SearchTree.ROOT, cutoff);
+        return removed;
+    }
+
+    private static void countStamps(SearchTree tree, int node, int[] counts) {
+        for (int child = tree.getFirstChild(node); child != SearchTree.NONE; child = tree.getNextSibling(child)) {
+            counts[tree.getStamp(child)]++;
+            countStamps(tree, child, counts);
+        }
+    }
+
+    private static void removeBefore(SearchTree tree, int node, int cutoff) {
+        boolean removed = false;
+        for (int child = tree.getFirstChild(node); child != SearchTree.NONE; ) {
+            int next = tree.getNextSibling(child);
+            if (tree.getStamp(child) < cutoff) {
+                tree.remove(child);
+                removed = true;
+            } else {
+                removeBefore(tree, child, cutoff);
+            }
+            child = next;
+        }
+        if (removed) {
+            for (int ancestor = node; ancestor != SearchTree.NONE && tree.hasScore(ancestor); ancestor = tree.getParent(ancestor)) {
+                tree.clearScore(ancestor);
+            }
+        }
     }
 
     /**
      * Melakukan penyilangan dan mutasi pada 2 individu.
      * @param parent1 Individu parent pertama yang akan dimutasi
      * @param parent2 Individu parent kedua yang akan dimutasi
+     * @param random Sumber bilangan acak milik thread pemanggil.
      * @return child Individu anakan dari hasil penyilangan dan mutasi
      */
-    protected Individual crossoverMutate(Board board, Individual parent1, Individual parent2){
-        Individual child = new Individual(new Byte[parent1.actions.length], new Tree<>(new ActionNode()));
+    protected Individual crossoverMutate(Board board, Individual parent1, Individual parent2, SplittableRandom random){
+        int length = parent1.actions.length;
+        Individual child = new Individual(new byte[length]);
 
         /* Crossover */
         // Menentukan titik crossover acak di antara tindakan orang tua
-        int crossoverPoint = (int) (Math.random() * parent1.actions.length);
+        int crossoverPoint = random.nextInt(length);
         // Salin tindakan dari parent1 hingga titik crossover ke anak
-        System.arraycopy(parent1.actions, 0, child.actions, 0, parent1.actions.length);
+        System.arraycopy(parent1.actions, 0, child.actions, 0, crossoverPoint);
         // Salin tindakan dari parent2 mulai dari titik crossover ke anak
-        System.arraycopy(parent2.actions, crossoverPoint, child.actions, crossoverPoint, parent2.actions.length - crossoverPoint);
+        System.arraycopy(parent2.actions, crossoverPoint, child.actions, crossoverPoint, length - crossoverPoint);
 
         /* Mutation */
-        // Mengumpulkan semua aksi potensial yang masih dapat dilakukan bot dari list empty square
-        List<Byte> actionOptions = new ArrayList<Byte>(board.getEmptySquares());
+        // Mengumpulkan semua aksi potensial yang masih dapat dilakukan bot dari mask empty square
+        long actionOptions = board.getEmptyMask();
         // Menghapus semua tindakan yang sudah ada di anak dari daftar potensi tindakan
-        for (Byte action : child.actions ) {
-            actionOptions.remove(action);
+        for (byte action : child.actions) {
+            actionOptions &= ~(1L << Bitboards.indexOf(action));
         }
 
-        // Memetakan semua tindakan yang sudah dipilih oleh child sehingga tidak ada tindakan yang double
-        HashMap<Byte, Integer> actionMap = new HashMap<Byte, Integer>();
-        for (int i = 0; i < child.actions.length; i++) {
-            if (!actionMap.containsKey(child.actions[i])){
-                actionMap.put(child.actions[i], i);
+        // Menandai semua tindakan yang sudah dipilih oleh child sehingga tidak ada tindakan yang double
+        long chosenActions = 0;
+        for (int i = 0; i < length; i++) {
+            long actionBit = 1L << Bitboards.indexOf(child.actions[i]);
+            if ((chosenActions & actionBit) == 0) {
+                chosenActions |= actionBit;
             } else {
                 // Jika ada tindakan yang sama, maka mutasi dengan memilih tindakan baru dari actionOptions
-                int mutationActionIdx = (int) (Math.random() * actionOptions.size());
-                child.actions[i] = actionOptions.get(mutationActionIdx);
-                actionOptions.remove(mutationActionIdx);
+                int mutationSquare = Bitboards.nthSquare(actionOptions, random.nextInt(Long.bitCount(actionOptions)));
+                child.actions[i] = Bitboards.coordinateOf(mutationSquare);
+                actionOptions &= ~(1L << mutationSquare);
             }
         }
 
         // Mutasi dengan menukar swap jika memenuhi laju mutasi yang ditentukan
-        if ((double) (Math.random()) < mutationRates) {
-            int mutationIdx1 = (int) (Math.random() * child.actions.length);
-            int mutationIdx2 = (int) (Math.random() * child.actions.length);
-            Byte temp = child.actions[mutationIdx1];
+        if (random.nextDouble() < mutationRates) {
+            int mutationIdx1 = random.nextInt(length);
+            int mutationIdx2 = random.nextInt(length);
+            byte temp = child.actions[mutationIdx1];
             child.actions[mutationIdx1] = child.actions[mutationIdx2];
             child.actions[mutationIdx2] = temp;
         }
@@ -109,6 +332,30 @@ public class BotGeneticAlgorithm extends BotBase {
         // Mengembalikan individu anak yang telah dibuat
         return child;
     }
+
+    /**
+     * Memilih individu secara roulette wheel dengan pencarian biner pada jumlah kumulatif fitness.
+     * Jika seluruh fitness bernilai nol, individu dipilih secara seragam.
+     * @param generation Generasi tempat individu dipilih.
+     * @param cumulativeFitness Jumlah kumulatif fitness, yaitu total fitness individu ke-0 hingga ke-i pada indeks i.
+     * @param random Sumber bilangan acak milik thread pemanggil.
+     * @return Individu yang terpilih.
+     */
+    protected Individual select(List<Individual> generation, int[] cumulativeFitness, SplittableRandom random) {
+        int totalFitnessValue = cumulativeFitness[generation.size() - 1];
+        if (totalFitnessValue == 0) return generation.get(random.nextInt(generation.size()));
+
+        // Mencari individu pertama yang jumlah kumulatifnya melebihi nilai roulette
+        int rouletteValue = random.nextInt(totalFitnessValue);
+        int low = 0, high = generation.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeFitness[mid] > rouletteValue) high = mid;
+            else low = mid + 1;
+        }
+        return generation.get(low);
+    }
+
     /**
      * Mencari aksi paling optimal yang akan dilakukah bot dengan menerapkan Genetic Algorithm.
      * @param board Kondisi papan permainan terkini.
@@ -116,75 +363,215 @@ public class BotGeneticAlgorithm extends BotBase {
      */
     @Override
     protected byte searchMove(Board board) {
-        // Inisiasi pohon untuk penyimpanan individu dari Genetic Algorithm
-        Tree<ActionNode> reservationTree = new Tree<>(new ActionNode());
-
-        // Membuat generasi awal individu dengan fungsi generateNewGeneration
-        List<Individual> generation = generateNewGeneration(board);
-
-        // Melakukan iterasi pencarian individu dengan aksi paling optimal
-        for (int i = 0; i < n; i++) {
-            // Memeriksa apakah sudah didapatkan individu paling optimal
-            // Apabila sudah, iterasi dihentikan
-            if (isStopped()){
-                break;
-            }
+        this.evaluatedIndividuals.set(0);
+        SplittableRandom random = new SplittableRandom();
 
-            // Menyimpan aksi individu yang akan dicek dalam reservation tree
-            for (Individual individual : generation) {
-                reserve(reservationTree, individual);
+        if (this.reservationTrees == null) {
+            this.reservationTrees = new SearchTree[this.islandCount];
+            for (int i = 0; i < this.reservationTrees.length; i++) {
+                this.reservationTrees[i] = new SearchTree();
             }
+        }
 
-            // Menghitung fitness function tiap individu dengan menggunakan fungsi evaluation tree
-            Minimax.evaluateTree(reservationTree, board);
+        // Setiap pulau memiliki sumber bilangan acaknya sendiri yang dipecah dari sumber milik thread pencarian
+        Island[] islands = new Island[this.islandCount];
+        for (int i = 0; i < islands.length; i++) {
+            this.reservationTrees[i].clear();
+            islands[i] = new Island(i, board, random.split(), this.reservationTrees[i],
+                    Math.max(1, Vars.GENETIC_TREE_MAX_NODES / islands.length));
+        }
 
-            if (i==n-1){
-                break;
-            }
-            // Menghitung total fitness function satu generasi
-            Integer totalFitnessValue = 0;
-            for (Individual individual : generation) {
-                individual.calcFitnessValue();
-                totalFitnessValue += individual.fitnessValue;
+        if (islands.length == 1) {
+            islands[0].evolve(islands, this.threadCount);
+        } else {
+            // Thread pemanggil ikut menjalankan pulau pertama; setiap pulau mengevaluasi generasinya dengan satu thread
+            List<Future<?>> futures = new ArrayList<>(islands.length - 1);
+            for (int i = 1; i < islands.length; i++) {
+                Island island = islands[i];
+                futures.add(this.getHelperPool().submit(() -> island.evolve(islands, 1)));
             }
-
-            // Mmebangkitkan generasi baru dari generasi yang lama
-            List<Individual> newGeneration = new ArrayList<>();
-            for (int j = 0; j < 2*k; j++) {
-                // Mengacak nilai untuk pemilihan parent
-                int rouletteValue =  (int) (Math.random() * totalFitnessValue);
-
-                // Memilih parent, melakukan crossover dan mutasi, dan membentuk generasi baru
-                for (Individual individual : generation ) {
-                    if (rouletteValue <= individual.fitnessValue){
-                        if (j % 2 == 0) {
-                            // Menyimpan parent pertama
-                            newGeneration.add(individual);
-                        } else {
-                            // Mengambil parent pertama
-                            Individual prevParent = newGeneration.get(newGeneration.size()-1);
-                            // Membangkitkan child dengan crossover dan mutasi
-                            newGeneration.add(crossoverMutate(board, prevParent, individual));
-                            // Menghapus parent dari list
-                            newGeneration.remove(newGeneration.size()-2);
-                        }
-                        break;
-                    } else {
-                        totalFitnessValue -= individual.fitnessValue;
-                    }
+            islands[0].evolve(islands, 1);
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while evolving islands", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to evolve island", e.getCause());
                 }
             }
+        }
 
-            generation.clear();
-            // Menambahkan hasil anakan baru ke dalam list generasi total
-            generation.addAll(newGeneration);
-            newGeneration.clear();
+        // Menggabungkan pohon reservasi seluruh pulau ke pohon pulau pertama
+        SearchTree reservationTree = islands[0].reservationTree;
+        for (int i = 1; i < islands.length; i++) {
+            merge(reservationTree, SearchTree.ROOT, islands[i].reservationTree, SearchTree.ROOT, true);
         }
 
         // Mengembalikan child dengan nilai paling optimal
-        return reservationTree.getChild(
-                child -> Objects.equals(child.getValue().evaluationScore, reservationTree.getValue().evaluationScore)
-        ).getValue().action;
+        int child = reservationTree.getFirstChild(SearchTree.ROOT);
+        while (reservationTree.getScore(child) != reservationTree.getScore(SearchTree.ROOT)) {
+            child = reservationTree.getNextSibling(child);
+        }
+        return reservationTree.getMove(child);
+    }
+
+    @Override
+    public long getNodeCount() {
+        return this.evaluatedIndividuals.get();
+    }
+
+    /**
+     * Menggabungkan pohon sumber yang sudah dievaluasi ke pohon tujuan yang sudah dievaluasi. Subpohon sumber yang
+     * aksinya belum ada pada tujuan disalin beserta nilainya, sehingga hanya simpul pada jalur yang dimiliki
+     * kedua pohon yang perlu dihitung ulang nilai minimaxnya.
+     * @param target Pohon tujuan.
+     * @param targetNode Indeks simpul pada pohon tujuan.
+     * @param source Pohon sumber.
+     * @param sourceNode Indeks simpul pada pohon sumber, dengan jalur aksi yang sama dengan simpul tujuan.
+     * @param isMax Status apakah kedua simpul merupakan simpul maksimal atau minimal.
+     */
+    protected static void merge(SearchTree target, int targetNode, SearchTree source, int sourceNode, boolean isMax) {
+        if (!source.hasChildren(sourceNode)) return;
+
+        for (int sourceChild = source.getFirstChild(sourceNode); sourceChild != SearchTree.NONE; sourceChild = source.getNextSibling(sourceChild)) {
+            int targetChild = target.getChild(targetNode, source.getMove(sourceChild));
+            if (targetChild == SearchTree.NONE) {
+                target.copyChild(targetNode, source, sourceChild);
+            } else {
+                merge(target, targetChild, source, sourceChild, !isMax);
+            }
+        }
+
+        int score = isMax ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int child = target.getFirstChild(targetNode); child != SearchTree.NONE; child = target.getNextSibling(child)) {
+            score = isMax ? Math.max(score, target.getScore(child)) : Math.min(score, target.getScore(child));
+        }
+        target.setScore(targetNode, score);
+    }
+
+    /**
+     * Satu populasi yang berevolusi dengan pohon reservasi dan sumber bilangan acaknya sendiri.
+     * Individu yang berpindah dari pulau lain diterima melalui antrean yang aman dipakai bersama antar-thread.
+     */
+    private class Island {
+        private final int index;
+        private final Board board;
+        private final SplittableRandom random;
+        private final SearchTree reservationTree;
+        private final Queue<byte[]> immigrants = new ConcurrentLinkedQueue<>();
+        // Batas banyak simpul pohon reservasi (tanpa akar); batas seluruh pulau dibagi rata
+        private final int maxTreeSize;
+
+        private Island(int index, Board board, SplittableRandom random, SearchTree reservationTree, int maxTreeSize) {
+            this.index = index;
+            this.board = board;
+            this.random = random;
+            this.reservationTree = reservationTree;
+            this.maxTreeSize = maxTreeSize;
+        }
+
+        /**
+         * Menjalankan evolusi hingga batas generasi atau batas waktu tercapai.
+         * @param islands Seluruh pulau, untuk migrasi.
+         * @param threadCount Banyak thread untuk evaluasi fitness setiap generasi.
+         */
+        private void evolve(Island[] islands, int threadCount) {
+            // Membuat generasi awal individu dengan fungsi generateNewGeneration
+            List<Individual> generation = generateNewGeneration(this.board, this.random);
+            List<Individual> newGeneration = new ArrayList<>(k);
+            int[] cumulativeFitness = new int[k];
+            BatchEvaluator[] evaluators = newBatchEvaluators(threadCount);
+
+            // Lama evaluasi generasi terakhir, untuk memperkirakan apakah generasi berikutnya sempat dievaluasi
+            long lastGenerationNanos = 0;
+
+            // Melakukan iterasi pencarian individu dengan aksi paling optimal
+            for (int i = 0; i < n; i++) {
+                // Memeriksa apakah sudah didapatkan individu paling optimal
+                // Apabila sudah, iterasi dihentikan
+                // Generasi pertama selalu dievaluasi agar selalu ada langkah yang dapat dikembalikan
+                if (i > 0 && (isSoftStopped() || !getTimeManager().canStartIteration(lastGenerationNanos, 1, 1))){
+                    break;
+                }
+
+                // Menggantikan individu terakhir generasi ini dengan individu yang berpindah dari pulau lain
+                long generationStart = System.nanoTime();
+                for (int j = generation.size() - 1; j >= 0 && !this.immigrants.isEmpty(); j--) {
+                    generation.set(j, new Individual(this.immigrants.poll()));
+                }
+
+                // Membuang cabang yang paling lama tidak dilalui jika pohon reservasi melebihi batasnya
+                if (this.reservationTree.size() - 1 > this.maxTreeSize) {
+                    evict(this.reservationTree, i - 1, this.maxTreeSize / 4 * 3);
+                }
+
+                // Menghitung fitness function tiap individu dengan menggunakan fungsi evaluation tree
+                evaluateGeneration(this.reservationTree, this.board, generation, evaluators, i);
+
+                if (i==n-1){
+                    break;
+                }
+                // Menghitung jumlah kumulatif fitness function satu generasi
+                int totalFitnessValue = 0;
+                for (int j = 0; j < generation.size(); j++) {
+                    Individual individual = generation.get(j);
+                    individual.calcFitnessValue(this.reservationTree);
+                    totalFitnessValue += individual.fitnessValue;
+                    cumulativeFitness[j] = totalFitnessValue;
+                }
+
+                if (islands.length > 1 && i % MIGRATION_INTERVAL == MIGRATION_INTERVAL - 1) {
+                    this.emigrate(islands, generation);
+                }
+
+                // Mmebangkitkan generasi baru dari generasi yang lama: setiap anak berasal dari dua parent yang dipilih
+                for (int j = 0; j < k; j++) {
+                    Individual parent1 = select(generation, cumulativeFitness, this.random);
+                    Individual parent2 = select(generation, cumulativeFitness, this.random);
+                    newGeneration.add(crossoverMutate(this.board, parent1, parent2, this.random));
+                }
+
+                // Menukar generasi lama dengan hasil anakan baru
+                List<Individual> previousGeneration = generation;
+                generation = newGeneration;
+                newGeneration = previousGeneration;
+                newGeneration.clear();
+                lastGenerationNanos = System.nanoTime() - generationStart;
+            }
+        }
+
+        /**
+         * Mengirim salinan genom individu dengan fitness tertinggi ke pulau tetangga menurut topologi migrasi.
+         */
+        private void emigrate(Island[] islands, List<Individual> generation) {
+            List<Individual> elites = new ArrayList<>(generation);
+            elites.sort(Comparator.comparingInt((Individual individual) -> individual.fitnessValue).reversed());
+            elites = elites.subList(0, Math.min(MIGRANT_COUNT, elites.size()));
+
+            for (int offset = 1; offset < islands.length; offset++) {
+                Island neighbor = islands[(this.index + offset) % islands.length];
+                for (Individual elite : elites) {
+                    neighbor.immigrants.add(elite.actions.clone());
+                }
+                if (topology == MigrationTopology.RING) break;
+            }
+        }
     }
 
+    private ExecutorService getHelperPool() {
+        if (this.helperPool == null) {
+            // Thread pembantu milik bot ini; thread yang menganggur dihentikan agar bot yang sudah tidak dipakai tidak menahan thread
+            int helperCount = Math.max(this.threadCount, this.islandCount) - 1;
+            this.helperPool = new ThreadPoolExecutor(helperCount, helperCount,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "genetic-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.helperPool.allowCoreThreadTimeOut(true);
+        }
+        return this.helperPool;
+    }
 }
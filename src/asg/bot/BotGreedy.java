@@ -1,32 +1,32 @@
 package asg.bot;
 
+import asg.struct.Bitboards;
 import asg.struct.Board;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Hanya sebagai contoh implementasi.
  */
 public class BotGreedy extends BotBase {
     @Override
     protected byte searchMove(Board board) {
-        List<Byte> moves = board.getEmptySquares();
+        long moves = board.getEmptyMask();
 
         // Filter for moves with the largest eval value
-        List<Byte> eligible = new ArrayList<>();
-        int maxEval = 0;
-        for (Byte move : moves) {
-            int currEval = board.heuristic(move);
+        long eligible = 0;
+        int maxEval = Integer.MIN_VALUE;
+        for (; moves != 0; moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            int currEval = board.heuristic(Bitboards.coordinateOf(square));
             if (currEval > maxEval) {
                 maxEval = currEval;
-                eligible.clear();
+                eligible = 0;
             }
             if (currEval == maxEval) {
-                eligible.add(move);
+                eligible |= 1L << square;
             }
         }
 
-        return eligible.get((int) (Math.random() * eligible.size()));
+        int square = Bitboards.nthSquare(eligible, (int) (Math.random() * Long.bitCount(eligible)));
+        return Bitboards.coordinateOf(square);
     }
 }
@@ -1,14 +1,96 @@
 package asg.bot;
 
+import asg.Vars;
+import asg.algorithm.BatchEvaluator;
 import asg.algorithm.Minimax;
-import asg.struct.ActionNode;
+import asg.struct.BeamGraph;
+import asg.struct.Bitboards;
 import asg.struct.Board;
-import asg.struct.Tree;
+import asg.struct.PlayerMarks;
+import asg.struct.SearchTree;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 public class BotLocal extends BotBase{
-    private static final int k = 500;
+    // Lebar beam, yaitu banyak simpul terbaik yang dipertahankan pada setiap lapisan
+    private final int k;
+    private final int threadCount;
+    // Status apakah posisi yang sama pada satu lapisan digabungkan menjadi satu simpul beam
+    private final boolean mergeTranspositions;
+    private ThreadPoolExecutor helperPool;
+
+    // Pohon pencarian (atau graf beam pada mode penggabungan transposisi) dipakai ulang pada setiap langkah
+    // agar array-arraynya tidak dialokasikan ulang
+    private final SearchTree localTree = new SearchTree();
+    private BeamGraph beamGraph;
+    // Penampung sementara anak-anak satu lapisan, diindeks dengan posisi anak pada lapisan: kotak aksinya, posisi
+    // induknya pada beam, markah lawan yang berpindah, nilainya, serta nilai dan posisinya yang dikemas menjadi satu
+    // long untuk dipilih. Anak-anak simpul beam ke-b menempati posisi layerOffsets[b] hingga sebelum
+    // layerOffsets[b + 1], dan keadaan simpul beam ke-b dikemas pada beamMovers[b] dan beamOpponents[b] (bitboard
+    // pemain yang memegang giliran dan lawannya) agar seluruh anak dinilai sekaligus oleh BatchEvaluator.
+    private byte[] layerSquares = new byte[0];
+    private int[] layerOrigins = new int[0];
+    private long[] layerFlips = new long[0];
+    private int[] layerScores = new int[0];
+    private long[] layerOrder = new long[0];
+    private int[] layerOffsets = new int[0];
+    private boolean[] beamKept = new boolean[0];
+    private long[] beamMovers = new long[0];
+    private long[] beamOpponents = new long[0];
+    // Penampung tambahan untuk mode penggabungan transposisi, juga diindeks dengan posisi anak pada lapisan:
+    // keadaan, hash, dan kelompok posisinya. Kelompok ke-g pertama kali muncul pada posisi groupFirsts[g] dan
+    // menjadi simpul groupNodes[g] pada graf jika terpilih; layerOrder berisi kunci kelompok.
+    private long[] layerPlayerXBits = new long[0];
+    private long[] layerPlayerOBits = new long[0];
+    private long[] layerHashes = new long[0];
+    private int[] layerGroups = new int[0];
+    private int[] groupFirsts = new int[0];
+    private int[] groupNodes = new int[0];
+    private int[] groupSlots = new int[0];
+
+    /**
+     * Membuat bot Local Beam Search dengan lebar beam, banyak thread, dan mode penggabungan transposisi bawaan
+     * ({@code Vars.LOCAL_BEAM_WIDTH}, {@code Vars.SEARCH_THREAD_COUNT}, dan {@code Vars.LOCAL_BEAM_TRANSPOSITIONS}).
+     */
+    public BotLocal() {
+        this(Vars.SEARCH_THREAD_COUNT, Vars.LOCAL_BEAM_WIDTH, Vars.LOCAL_BEAM_TRANSPOSITIONS);
+    }
+
+    /**
+     * Membuat bot Local Beam Search tanpa penggabungan transposisi.
+     * @param threadCount Banyak thread untuk mengembangkan setiap lapisan, termasuk thread pemanggil.
+     * @param beamWidth Banyak simpul terbaik yang dipertahankan pada setiap lapisan.
+     * @throws IllegalArgumentException Jika {@code threadCount} atau {@code beamWidth} tidak bernilai positif.
+     */
+    public BotLocal(int threadCount, int beamWidth) {
+        this(threadCount, beamWidth, false);
+    }
+
+    /**
+     * Membuat bot Local Beam Search. Jika penggabungan transposisi aktif, posisi sama yang dicapai dengan urutan aksi
+     * berbeda hanya menempati satu tempat pada beam, dan beam disimpan sebagai {@link BeamGraph} yang hanya menyimpan
+     * bitboard setiap posisi alih-alih sebagai pohon dengan papan utuh untuk setiap simpul beam.
+     * @param threadCount Banyak thread untuk mengembangkan setiap lapisan, termasuk thread pemanggil.
+     * @param beamWidth Banyak simpul terbaik yang dipertahankan pada setiap lapisan.
+     * @param mergeTranspositions Status apakah posisi yang sama pada satu lapisan digabungkan.
+     * @throws IllegalArgumentException Jika {@code threadCount} atau {@code beamWidth} tidak bernilai positif.
+     */
+    public BotLocal(int threadCount, int beamWidth, boolean mergeTranspositions) {
+        if (threadCount <= 0) throw new IllegalArgumentException("Thread count must be positive");
+        if (beamWidth <= 0) throw new IllegalArgumentException("Beam width must be positive");
+        this.threadCount = threadCount;
+        this.k = beamWidth;
+        this.mergeTranspositions = mergeTranspositions;
+    }
+
+    /**
+     * Mengembalikan lebar beam bot ini.
+     * @return Banyak simpul terbaik yang dipertahankan pada setiap lapisan.
+     */
+    public int getBeamWidth() {
+        return this.k;
+    }
 
     /**
      * Mencari aksi paling optimal yang akan dilakukah bot dengan menerapkan Local Beam Search.
@@ -17,81 +99,425 @@ public class BotLocal extends BotBase{
      */
     @Override
     protected byte searchMove(Board board) {
+        if (this.mergeTranspositions) return this.searchMergedMove(board);
 
         /* Initiate */
-        // Membangkitkan local tree
-        Tree<ActionNode> localTree = new Tree<>(new ActionNode(null, board));
-        // Membangkitkan array penyimpanan pohon evaluasi terkini
-        List<Tree<ActionNode>> currentEvaluate = new ArrayList<>();
-        // Membangkitkan array penyimpanan pohon evaluasi selanjutnya
-        List<Tree<ActionNode>> nextEvaluate = new ArrayList<>();
-        // Membangkitkan array penyimpanan aksi
-        List<Byte> actions = new ArrayList<>();
-        // Membangkitkan map list papan aksi
-        Map<Byte, Board> boards = new HashMap<>();
+        // Mengosongkan local tree
+        SearchTree localTree = this.localTree;
+        localTree.clear();
+        // Membangkitkan beam: simpul-simpul yang akan dikembangkan beserta papannya
+        int[] beamNodes = new int[k];
+        Board[] beamBoards = new Board[k];
 
         // Assigning variabel terkait yang telah dibangkitkan
-        currentEvaluate.add(localTree);
-        Tree<ActionNode> currentTree;
+        beamNodes[0] = SearchTree.ROOT;
+        beamBoards[0] = new Board(board);
+        int beamSize = 1;
+
+        // Lama pengembangan lapisan terakhir dan rasio pertumbuhannya, untuk memperkirakan lama lapisan berikutnya
+        long lastLayerNanos = 0;
+        double layerGrowth = 1;
 
         for (int i=0; i<board.getPliesLeft(); i++){
-            if (isStopped()){
-                System.out.println("break");
+            // Lapisan pertama selalu dikembangkan agar selalu ada langkah yang dapat dikembalikan
+            if (i > 0 && (isSoftStopped() || !getTimeManager().canStartIteration(lastLayerNanos, layerGrowth, 1))){
+                break;
+            }
+            long layerStart = System.nanoTime();
+            beamSize = expandLayer(localTree, board, beamNodes, beamBoards, beamSize);
+            long layerNanos = System.nanoTime() - layerStart;
+            layerGrowth = i > 0 ? (double) layerNanos / Math.max(1, lastLayerNanos) : 1;
+            lastLayerNanos = layerNanos;
+        }
+
+        // Nilai localTree sudah diperbarui pada setiap lapisan, sehingga child dengan nilai paling optimal
+        // berdasarkan local beam search dapat langsung dikembalikan
+        int child = localTree.getFirstChild(SearchTree.ROOT);
+        while (localTree.getScore(child) != localTree.getScore(SearchTree.ROOT)) {
+            child = localTree.getNextSibling(child);
+        }
+        return localTree.getMove(child);
+    }
+
+    /**
+     * Mencari aksi paling optimal dengan Local Beam Search yang menggabungkan transposisi pada setiap lapisan.
+     * @param board Kondisi papan permainan terkini.
+     * @return Aksi paling optimal berdasarkan local beam search.
+     */
+    private byte searchMergedMove(Board board) {
+        if (this.beamGraph == null) this.beamGraph = new BeamGraph();
+        BeamGraph beamGraph = this.beamGraph;
+        beamGraph.clear(board);
+
+        // Lama pengembangan lapisan terakhir dan rasio pertumbuhannya, untuk memperkirakan lama lapisan berikutnya
+        long lastLayerNanos = 0;
+        double layerGrowth = 1;
+
+        for (int i = 0; i < board.getPliesLeft(); i++) {
+            // Lapisan pertama selalu dikembangkan agar selalu ada langkah yang dapat dikembalikan
+            if (i > 0 && (isSoftStopped() || !getTimeManager().canStartIteration(lastLayerNanos, layerGrowth, 1))) {
                 break;
             }
-            // Membangkitkan semua pohon evaluasi yang akan dievaluasi
-            for (Tree<ActionNode> evaluationTree : currentEvaluate){
-                // Menyimpan semua kotak yang tersedia untuk aksi papan evaluasi terkini
-                actions = evaluationTree.getValue().board.getEmptySquares();
-                // Menghasilkan semua kemungkinan papan berikutnya
-                boards = Minimax.generateNextBoardStates(evaluationTree.getValue().board);
-                // Memasukkan nilai pohon evaluasi saat ini
-                currentTree = evaluationTree;
-                // Menambahkan pohon yang dibuat ke list currentTree dan nextEvaluate
-                for (Byte action : actions) {
-                    Tree<ActionNode> child = new Tree<>(new ActionNode(action, boards.get(action)));
-                    currentTree.addChild(child);
-                    nextEvaluate.add(child);
+            long layerStart = System.nanoTime();
+            expandMergedLayer(beamGraph, board.getCurrentPlayer());
+            long layerNanos = System.nanoTime() - layerStart;
+            layerGrowth = i > 0 ? (double) layerNanos / Math.max(1, lastLayerNanos) : 1;
+            lastLayerNanos = layerNanos;
+        }
+
+        // Menilai seluruh graf dari lapisan terakhir ke akar sekali saja
+        return beamGraph.evaluate();
+    }
+
+    /**
+     * Mengembangkan satu lapisan beam pada mode penggabungan transposisi: menilai semua anak dari lapisan terakhir
+     * graf secara paralel, mengelompokkan anak-anak dengan posisi yang sama berdasarkan hash bitboardnya, lalu
+     * menambahkan {@code k} kelompok terbaik sebagai lapisan baru. Setiap kelompok terpilih menjadi satu simpul
+     * dengan sisi dari semua induk yang mencapainya.
+     * @param beamGraph Graf beam dengan lapisan terakhir sebagai beam saat ini.
+     * @param searchingPlayer Player yang sedang melakukan pencarian, yaitu pemain pada akar graf.
+     * @return Banyak simpul beam berikutnya.
+     */
+    protected int expandMergedLayer(BeamGraph beamGraph, PlayerMarks searchingPlayer) {
+        int layer = beamGraph.getLayerCount() - 1;
+        int start = beamGraph.getLayerStart(layer), beamSize = beamGraph.getLayerEnd(layer) - start;
+
+        // Menentukan posisi anak-anak setiap simpul beam pada lapisan
+        this.ensureBeamCapacity(beamSize);
+        int layerSize = 0;
+        for (int b = 0; b < beamSize; b++) {
+            this.layerOffsets[b] = layerSize;
+            layerSize += Long.bitCount(~(beamGraph.getPlayerXBits(start + b) | beamGraph.getPlayerOBits(start + b)));
+        }
+        this.layerOffsets[beamSize] = layerSize;
+        this.ensureLayerCapacity(layerSize);
+        addNodes(layerSize);
+
+        // Menilai semua anak dari setiap simpul beam secara paralel
+        PlayerMarks mover = beamGraph.getLayerPlayer(layer);
+        this.runParallel(beamSize, (from, to) -> this.scoreMergedChildren(beamGraph, start, mover, searchingPlayer, from, to));
+
+        // Memilih k kelompok posisi terbaik, lalu mengurutkan kelompok terpilih saja
+        int groupCount = this.groupTranspositions(layerSize);
+        int nextSize = Math.min(k, groupCount);
+        selectSmallest(this.layerOrder, groupCount, nextSize);
+        Arrays.sort(this.layerOrder, 0, nextSize);
+
+        // Menambahkan kelompok terpilih sebagai simpul lapisan baru beserta sisi dari setiap induknya
+        beamGraph.startLayer();
+        Arrays.fill(this.groupNodes, 0, groupCount, SearchTree.NONE);
+        for (int j = 0; j < nextSize; j++) {
+            int group = (int) this.layerOrder[j];
+            int first = this.groupFirsts[group];
+            this.groupNodes[group] = beamGraph.addNode(this.layerPlayerXBits[first], this.layerPlayerOBits[first],
+                    -(int) (this.layerOrder[j] >> 32));
+        }
+        for (int position = 0; position < layerSize; position++) {
+            int child = this.groupNodes[this.layerGroups[position]];
+            if (child != SearchTree.NONE) {
+                beamGraph.addEdge(start + this.layerOrigins[position], Bitboards.coordinateOf(this.layerSquares[position]), child);
+            }
+        }
+        return nextSize;
+    }
+
+    /**
+     * Menilai semua anak dari simpul beam ke-{@code from} hingga sebelum ke-{@code to} pada lapisan terakhir graf
+     * sekaligus dari keadaan ringkas simpul beam, lalu menghitung keadaan dan hash setiap anak dari markah lawan
+     * yang berpindah.
+     */
+    private void scoreMergedChildren(BeamGraph beamGraph, int start, PlayerMarks mover, PlayerMarks searchingPlayer, int from, int to) {
+        boolean xToMove = mover == PlayerMarks.X;
+        for (int b = from; b < to; b++) {
+            this.packBeamNode(b, beamGraph.getPlayerXBits(start + b), beamGraph.getPlayerOBits(start + b), xToMove);
+        }
+        int first = this.layerOffsets[from], last = this.layerOffsets[to];
+        BatchEvaluator.scoreMoves(this.beamMovers, this.beamOpponents, this.layerOrigins, this.layerSquares,
+                this.layerFlips, this.layerScores, first, last);
+
+        boolean searchingMoves = mover == searchingPlayer;
+        for (int position = first; position < last; position++) {
+            int b = this.layerOrigins[position];
+            long flipped = this.layerFlips[position];
+            long moverBits = this.beamMovers[b] | 1L << this.layerSquares[position] | flipped;
+            long opponentBits = this.beamOpponents[b] & ~flipped;
+            this.layerPlayerXBits[position] = xToMove ? moverBits : opponentBits;
+            this.layerPlayerOBits[position] = xToMove ? opponentBits : moverBits;
+            this.layerHashes[position] = hashOf(this.layerPlayerXBits[position], this.layerPlayerOBits[position]);
+            if (!searchingMoves) this.layerScores[position] = -this.layerScores[position];
+        }
+    }
+
+    /**
+     * Menghitung hash keadaan anak dari kedua bitboardnya. Seluruh anak satu lapisan memiliki giliran yang sama,
+     * sehingga giliran tidak perlu ikut di-hash.
+     */
+    private static long hashOf(long playerXBits, long playerOBits) {
+        long hash = playerXBits * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(playerOBits, 32) * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 32;
+        hash *= 0xD6E8FEB86659FD93L;
+        return hash ^ hash >>> 32;
+    }
+
+    /**
+     * Mengemas keadaan simpul beam ke-{@code b} beserta kotak dan asal setiap aksi anaknya ke array primitif.
+     */
+    private void packBeamNode(int b, long playerXBits, long playerOBits, boolean xToMove) {
+        this.beamMovers[b] = xToMove ? playerXBits : playerOBits;
+        this.beamOpponents[b] = xToMove ? playerOBits : playerXBits;
+        int position = this.layerOffsets[b];
+        for (long empty = ~(playerXBits | playerOBits); empty != 0; empty &= empty - 1, position++) {
+            this.layerSquares[position] = (byte) Long.numberOfTrailingZeros(empty);
+            this.layerOrigins[position] = b;
+        }
+    }
+
+    /**
+     * Mengelompokkan anak-anak satu lapisan berdasarkan posisinya dengan tabel hash open addressing yang dikunci
+     * hash bitboard. Bitboard juga dibandingkan sehingga tabrakan hash tidak menggabungkan posisi yang berbeda.
+     * Kunci kelompok (nilai yang dinegasikan dan nomor kelompok) dituliskan ke {@code layerOrder}; nomor kelompok
+     * mengikuti urutan kemunculan pertamanya sehingga memecah nilai yang sama secara deterministik.
+     * @return Banyak kelompok.
+     */
+    private int groupTranspositions(int layerSize) {
+        int slots = Integer.highestOneBit(Math.max(1, layerSize) * 2 - 1) * 2;
+        if (this.groupSlots.length < slots) this.groupSlots = new int[slots];
+        Arrays.fill(this.groupSlots, 0, slots, SearchTree.NONE);
+        int mask = slots - 1;
+
+        int groupCount = 0;
+        for (int position = 0; position < layerSize; position++) {
+            long hash = this.layerHashes[position];
+            int group;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                group = this.groupSlots[slot];
+                if (group == SearchTree.NONE) {
+                    group = groupCount++;
+                    this.groupSlots[slot] = group;
+                    this.groupFirsts[group] = position;
+                    this.layerOrder[group] = (long) -this.layerScores[position] << 32 | group;
+                    break;
                 }
+                int first = this.groupFirsts[group];
+                if (this.layerHashes[first] == hash && this.layerPlayerXBits[first] == this.layerPlayerXBits[position]
+                        && this.layerPlayerOBits[first] == this.layerPlayerOBits[position]) break;
+            }
+            this.layerGroups[position] = group;
+        }
+        return groupCount;
+    }
+
+    /**
+     * Mengembangkan satu lapisan beam: menilai semua anak dari beam saat ini secara paralel, memilih {@code k} anak
+     * terbaik sebagai beam berikutnya, lalu memperbarui nilai minimax pohon. Hanya anak terpilih yang ditambahkan ke
+     * pohon, dan simpul beam yang tidak memiliki anak terpilih dibuang beserta leluhurnya yang tidak lagi memiliki
+     * anak. Nilai minimax hanya dihitung ulang pada jalur yang berubah.
+     * @param localTree Pohon pencarian yang nilainya sudah diperbarui pada lapisan sebelumnya.
+     * @param board Kondisi papan permainan pada akar pohon.
+     * @param beamNodes Simpul-simpul beam saat ini, yang akan diganti dengan simpul-simpul beam berikutnya.
+     *                  Panjang array paling sedikit {@code k}.
+     * @param beamBoards Papan setiap simpul beam, dengan urutan dan panjang yang sama dengan {@code beamNodes}.
+     *                   Papan diubah sementara selama pengembangan dan dikembalikan seperti semula.
+     * @param beamSize Banyak simpul beam saat ini.
+     * @return Banyak simpul beam berikutnya.
+     */
+    protected int expandLayer(SearchTree localTree, Board board, int[] beamNodes, Board[] beamBoards, int beamSize) {
+        // Menentukan posisi anak-anak setiap simpul beam pada lapisan
+        this.ensureBeamCapacity(beamSize);
+        int layerSize = 0;
+        for (int b = 0; b < beamSize; b++) {
+            this.layerOffsets[b] = layerSize;
+            layerSize += Long.bitCount(beamBoards[b].getEmptyMask());
+        }
+        this.layerOffsets[beamSize] = layerSize;
+        this.ensureLayerCapacity(layerSize);
+        addNodes(layerSize);
+
+        // Menilai semua anak dari setiap simpul beam secara paralel
+        PlayerMarks searchingPlayer = board.getCurrentPlayer();
+        this.runParallel(beamSize, (from, to) -> this.scoreChildren(beamBoards, searchingPlayer, from, to));
+
+        // Memilih k anak terbaik tanpa mengurutkan seluruh lapisan, lalu mengurutkan anak terpilih saja
+        // agar urutan beam tetap menurut nilai evaluasinya
+        int nextSize = Math.min(k, layerSize);
+        selectSmallest(this.layerOrder, layerSize, nextSize);
+        Arrays.sort(this.layerOrder, 0, nextSize);
+
+        // Menambahkan anak terpilih ke pohon dan menandai leluhurnya berubah
+        Arrays.fill(this.beamKept, 0, beamSize, false);
+        int[] nextNodes = new int[nextSize];
+        for (int j = 0; j < nextSize; j++) {
+            int position = (int) this.layerOrder[j];
+            int origin = this.layerOrigins[position];
+            int child = localTree.addChild(beamNodes[origin], Bitboards.coordinateOf(this.layerSquares[position]));
+            localTree.setScore(child, -(int) (this.layerOrder[j] >> 32));
+            markChanged(localTree, beamNodes[origin]);
+            this.beamKept[origin] = true;
+            nextNodes[j] = child;
+        }
+
+        // Membuang simpul beam yang tidak memiliki anak terpilih beserta leluhurnya yang tidak lagi memiliki anak
+        for (int b = 0; b < beamSize; b++) {
+            if (this.beamKept[b]) continue;
+            int removedNode = beamNodes[b];
+            int parent = localTree.getParent(removedNode);
+            localTree.remove(removedNode);
+            while (parent != SearchTree.ROOT && !localTree.hasChildren(parent)) {
+                int grandparent = localTree.getParent(parent);
+                localTree.remove(parent);
+                parent = grandparent;
             }
+            markChanged(localTree, parent);
+        }
+
+        // Membuat papan anak terpilih secara paralel
+        Board[] nextBoards = new Board[nextSize];
+        this.runParallel(nextSize, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                int position = (int) this.layerOrder[j];
+                nextBoards[j] = new Board(beamBoards[this.layerOrigins[position]]);
+                nextBoards[j].act(Bitboards.coordinateOf(this.layerSquares[position]));
+            }
+        });
+        System.arraycopy(nextNodes, 0, beamNodes, 0, nextSize);
+        System.arraycopy(nextBoards, 0, beamBoards, 0, nextSize);
+        Arrays.fill(beamBoards, nextSize, Math.max(nextSize, beamSize), null);
+
+        // Memperbarui nilai minimax hanya pada jalur yang berubah; seluruh daun baru sudah memiliki nilai
+        Minimax.backupChangedTree(localTree, SearchTree.ROOT, true);
+        return nextSize;
+    }
+
+    /**
+     * Menilai semua anak dari simpul beam ke-{@code from} hingga sebelum ke-{@code to} sekaligus dari keadaan ringkas
+     * simpul beam, tanpa mengubah papannya.
+     */
+    private void scoreChildren(Board[] beamBoards, PlayerMarks searchingPlayer, int from, int to) {
+        for (int b = from; b < to; b++) {
+            Board beamBoard = beamBoards[b];
+            this.packBeamNode(b, beamBoard.getPlayerXMask(), beamBoard.getPlayerOMask(), beamBoard.getCurrentPlayer() == PlayerMarks.X);
+        }
+        int first = this.layerOffsets[from], last = this.layerOffsets[to];
+        BatchEvaluator.scoreMoves(this.beamMovers, this.beamOpponents, this.layerOrigins, this.layerSquares,
+                this.layerFlips, this.layerScores, first, last);
+
+        // Seluruh simpul beam satu lapisan memiliki giliran yang sama
+        boolean searchingMoves = from < to && beamBoards[from].getCurrentPlayer() == searchingPlayer;
+        for (int position = first; position < last; position++) {
+            int score = searchingMoves ? this.layerScores[position] : -this.layerScores[position];
+            // Nilai dinegasikan agar urutan menaik berarti nilai menurun; posisi memecah nilai yang sama
+            this.layerOrder[position] = (long) -score << 32 | position;
+        }
+    }
+
+    /**
+     * Menandai suatu simpul beserta leluhurnya berubah dengan menghapus nilainya. Leluhur yang sudah ditandai
+     * berubah berarti seluruh leluhur di atasnya juga sudah ditandai.
+     */
+    private static void markChanged(SearchTree localTree, int node) {
+        for (; node != SearchTree.NONE && localTree.hasScore(node); node = localTree.getParent(node)) {
+            localTree.clearScore(node);
+        }
+    }
 
-            // Mengevaluasi localTree menggunakan algoritma minimax
-            Minimax.evaluateTree(localTree, board);
-
-            // Mengurutkan semua nilai nextEvaluate menurut nilai evaluasinya untuk mencari local optimum
-            nextEvaluate.sort(Comparator.comparingInt(tree -> -tree.getValue().evaluationScore));
-            // Memilih child yang merupakan local optimum
-            if (k<nextEvaluate.size()) {
-                for (int j = k; j < nextEvaluate.size(); j++) {
-                    Tree<ActionNode> removedChild = nextEvaluate.get(j);
-                    Tree<ActionNode> parent = removedChild.getParent();
-                    if (parent != null) {
-                        parent.removeChild(removedChild);
-                        while (parent.getParent() != null && parent.getChildren().isEmpty()) {
-                            Tree<ActionNode> grandparent = parent.getParent();
-                            grandparent.removeChild(parent);
-                            parent = grandparent;
-                        }
-                    }
+    /**
+     * Memindahkan {@code count} elemen terkecil dari {@code values[0..size)} ke awal array dengan quickselect,
+     * tanpa urutan tertentu. Seluruh elemen harus berbeda.
+     */
+    private static void selectSmallest(long[] values, int size, int count) {
+        int low = 0, high = size - 1, nth = count - 1;
+        if (count <= 0 || count >= size) return;
+        while (low < high) {
+            // Pivot dipilih dari median tiga elemen agar lapisan yang sudah hampir terurut tetap berjalan linear
+            int mid = (low + high) >>> 1;
+            long pivot = Math.max(Math.min(values[low], values[mid]), Math.min(Math.max(values[low], values[mid]), values[high]));
+            int i = low, j = high;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    long temp = values[i];
+                    values[i++] = values[j];
+                    values[j--] = temp;
                 }
-                nextEvaluate.subList(k, nextEvaluate.size()).clear();
             }
+            if (nth <= j) high = j;
+            else if (nth >= i) low = i;
+            else break;
+        }
+    }
 
-            // Menyimpan konfigurasi terkini
-            currentEvaluate.clear();
-            currentEvaluate.addAll(nextEvaluate);
-            nextEvaluate.clear();
-            actions.clear();
-            boards.clear();
+    private void ensureBeamCapacity(int beamSize) {
+        if (beamSize < this.layerOffsets.length) return;
+        int length = Math.max(k, beamSize);
+        this.layerOffsets = new int[length + 1];
+        this.beamKept = new boolean[length];
+        this.beamMovers = new long[length];
+        this.beamOpponents = new long[length];
+    }
+
+    private void ensureLayerCapacity(int capacity) {
+        if (capacity <= this.layerSquares.length) return;
+        int length = Math.max(capacity, this.layerSquares.length * 2);
+        this.layerSquares = Arrays.copyOf(this.layerSquares, length);
+        this.layerOrigins = Arrays.copyOf(this.layerOrigins, length);
+        this.layerFlips = Arrays.copyOf(this.layerFlips, length);
+        this.layerScores = Arrays.copyOf(this.layerScores, length);
+        this.layerOrder = Arrays.copyOf(this.layerOrder, length);
+        if (this.mergeTranspositions) {
+            this.layerPlayerXBits = Arrays.copyOf(this.layerPlayerXBits, length);
+            this.layerPlayerOBits = Arrays.copyOf(this.layerPlayerOBits, length);
+            this.layerHashes = Arrays.copyOf(this.layerHashes, length);
+            this.layerGroups = Arrays.copyOf(this.layerGroups, length);
+            this.groupFirsts = Arrays.copyOf(this.groupFirsts, length);
+            this.groupNodes = Arrays.copyOf(this.groupNodes, length);
         }
+    }
+
+    /**
+     * Bagian pekerjaan yang mencakup indeks {@code from} hingga sebelum {@code to}.
+     */
+    private interface RangeTask {
+        void run(int from, int to);
+    }
 
-        // Menilai evaluation score localTree dengan fungsi minimax
-        Minimax.evaluateTree(localTree, board);
+    /**
+     * Membagi indeks {@code 0} hingga sebelum {@code count} menjadi bagian-bagian berurutan yang dikerjakan
+     * secara paralel. Thread pemanggil ikut mengerjakan bagian pertama.
+     */
+    private void runParallel(int count, RangeTask task) {
+        int tasks = Math.max(1, Math.min(this.threadCount, count));
+        List<Future<?>> futures = new ArrayList<>(tasks - 1);
+        for (int t = 1; t < tasks; t++) {
+            int from = (int) ((long) count * t / tasks), to = (int) ((long) count * (t + 1) / tasks);
+            futures.add(this.getHelperPool().submit(() -> task.run(from, to)));
+        }
+        task.run(0, count / tasks);
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while expanding beam", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to expand beam", e.getCause());
+            }
+        }
+    }
 
-        // Mengembalikan child dengan nilai paling optimal berdasarkan local beam search
-        return localTree.getChild(
-                child -> Objects.equals(child.getValue().evaluationScore, localTree.getValue().evaluationScore)
-        ).getValue().action;
+    private ExecutorService getHelperPool() {
+        if (this.helperPool == null) {
+            // Thread pembantu milik bot ini; thread yang menganggur dihentikan agar bot yang sudah tidak dipakai tidak menahan thread
+            int helperCount = this.threadCount - 1;
+            this.helperPool = new ThreadPoolExecutor(helperCount, helperCount,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "local-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.helperPool.allowCoreThreadTimeOut(true);
+        }
+        return this.helperPool;
     }
 
 }
@@ -1,9 +1,22 @@
 package asg.bot;
 
-import asg.algorithm.Minimax;
+import asg.Vars;
+import asg.algorithm.EndgameSolver;
+import asg.algorithm.SearchEngine;
+import asg.algorithm.SearchListener;
+import asg.book.OpeningBook;
 import asg.struct.Board;
 
 public class BotMinimax extends BotBase {
+    private final SearchEngine engine = new SearchEngine();
+    private final EndgameSolver endgameSolver = new EndgameSolver(Vars.ENDGAME_TRANSPOSITION_TABLE_SIZE_MB);
+    private volatile boolean solvingEndgame;
+
+    public BotMinimax() {
+        // Statistik pencarian dicetak hanya jika diminta dengan -Dasg.search.log=true
+        if (Boolean.getBoolean("asg.search.log")) this.engine.addListener(SearchListener.printing(System.out));
+    }
+
     @Override
     /**
      * Mencari aksi paling optimal yang akan dilakukah bot dengan menerapkan Minimax Aplha-beta Prunning.
@@ -11,6 +24,43 @@ public class BotMinimax extends BotBase {
      * @return choosenChild Individu anak yang telah dipilih sebagai pemilik aksi paling optimal berdasarkan Genetic Algorithm.
      */
     protected byte searchMove(Board board) {
-        return Minimax.startSearch(board, this::isStopped, board.getPliesLeft());
+        // Posisi pembukaan yang sudah ada di buku langsung dijawab tanpa pencarian
+        long bookEntry = OpeningBook.getDefault().probe(board);
+        if (bookEntry != 0) {
+            this.solvingEndgame = false;
+            return OpeningBook.moveOf(bookEntry);
+        }
+
+        // Beberapa ply terakhir dihitung secara eksak oleh pemecah akhir permainan
+        this.solvingEndgame = board.getPliesLeft() <= Vars.ENDGAME_SOLVER_PLIES;
+        if (this.solvingEndgame) {
+            return this.endgameSolver.solve(board, this::isStopped).action;
+        }
+        return this.engine.startSearch(board, this::isStopped, this.getTimeManager(), board.getPliesLeft());
+    }
+
+    @Override
+    public void startPondering(Board board) {
+        // Langkah berikutnya akan dihitung oleh pemecah akhir permainan, sehingga pondering tidak diperlukan
+        if (board.getPliesLeft() - 1 <= Vars.ENDGAME_SOLVER_PLIES) return;
+        this.engine.startPondering(board);
+    }
+
+    @Override
+    public void stopPondering() {
+        this.engine.stopPondering();
+    }
+
+    @Override
+    public long getNodeCount() {
+        return this.solvingEndgame ? this.endgameSolver.getNodeCount() : this.engine.getNodeCount();
+    }
+
+    /**
+     * Mengembalikan mesin pencarian milik bot ini, misalnya untuk menambahkan {@code SearchListener}.
+     * @return Mesin pencarian bot.
+     */
+    public SearchEngine getEngine() {
+        return this.engine;
     }
 }
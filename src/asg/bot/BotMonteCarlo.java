@@ -0,0 +1,350 @@
+package asg.bot;
+
+import asg.Vars;
+import asg.struct.Bitboards;
+import asg.struct.Board;
+import asg.struct.Coordinate;
+import asg.struct.MonteCarloTree;
+import asg.struct.PlayerMarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BotMonteCarlo extends BotBase {
+    // Banyak playout yang dijalankan setiap thread sebelum memeriksa batas waktu dan menambah penghitung playout
+    private static final int PLAYOUT_BATCH = 64;
+
+    private final int threadCount;
+    private final double exploration;
+    private final int playoutSamples;
+    private ThreadPoolExecutor helperPool;
+    // Setiap thread mencari dengan pohonnya sendiri (root parallelization); hasilnya digabungkan di akar
+    private Searcher[] searchers;
+    // Banyak playout pada pencarian terakhir; ditambah dari beberapa thread
+    private final AtomicLong playouts = new AtomicLong();
+
+    // Keadaan akar pencarian terakhir dan langkah yang dipilih, untuk memakai ulang pohon pada langkah berikutnya
+    private long lastRootXBits, lastRootOBits;
+    private int lastRootPliesLeft;
+    private byte lastMove;
+
+    /**
+     * Membuat bot Monte Carlo Tree Search dengan banyak thread, konstanta eksplorasi, dan banyak sampel playout bawaan
+     * ({@code Vars.SEARCH_THREAD_COUNT}, {@code Vars.MCTS_EXPLORATION}, dan {@code Vars.MCTS_PLAYOUT_SAMPLES}).
+     */
+    public BotMonteCarlo() {
+        this(Vars.SEARCH_THREAD_COUNT, Vars.MCTS_EXPLORATION, Vars.MCTS_PLAYOUT_SAMPLES);
+    }
+
+    /**
+     * Membuat bot Monte Carlo Tree Search dengan UCT. Setiap thread membangun pohonnya sendiri dari akar yang sama,
+     * dan langkah dipilih dari jumlah kunjungan anak akar seluruh pohon.
+     * @param threadCount Banyak thread pencarian, termasuk thread pemanggil.
+     * @param exploration Konstanta eksplorasi UCT.
+     * @param playoutSamples Banyak kotak kosong acak yang dibandingkan pada setiap aksi playout; kotak yang menangkap
+     *                       markah lawan paling banyak dipilih, sehingga {@code 1} berarti playout acak seragam.
+     * @throws IllegalArgumentException Jika {@code threadCount} atau {@code playoutSamples} tidak bernilai positif,
+     *                                  atau jika {@code exploration} bernilai negatif.
+     */
+    public BotMonteCarlo(int threadCount, double exploration, int playoutSamples) {
+        if (threadCount <= 0) throw new IllegalArgumentException("Thread count must be positive");
+        if (!(exploration >= 0)) throw new IllegalArgumentException("Exploration constant must not be negative");
+        if (playoutSamples <= 0) throw new IllegalArgumentException("Playout samples must be positive");
+        this.threadCount = threadCount;
+        this.exploration = exploration;
+        this.playoutSamples = playoutSamples;
+    }
+
+    /**
+     * Mencari aksi paling optimal yang akan dilakukah bot dengan menerapkan Monte Carlo Tree Search.
+     * @param board Kondisi papan permainan terkini.
+     * @return Aksi yang anak akarnya paling banyak dikunjungi.
+     */
+    @Override
+    protected byte searchMove(Board board) {
+        long start = System.nanoTime();
+        this.playouts.set(0);
+        if (this.searchers == null) {
+            this.searchers = new Searcher[this.threadCount];
+            SplittableRandom random = new SplittableRandom();
+            int maxTreeSize = Math.max(1, Vars.MCTS_TREE_MAX_NODES / this.threadCount);
+            for (int i = 0; i < this.searchers.length; i++) {
+                this.searchers[i] = new Searcher(random.split(), maxTreeSize);
+            }
+        }
+
+        // Memakai ulang subpohon milik posisi saat ini jika posisi ini dicapai dari akar sebelumnya dengan langkah
+        // bot ini dan satu langkah lawan
+        byte opponentMove = this.findOpponentMove(board);
+        long reused = 0;
+        for (Searcher searcher : this.searchers) {
+            reused += searcher.reset(board, opponentMove);
+        }
+
+        // Thread pemanggil ikut menjalankan pencari pertama
+        List<Future<?>> futures = new ArrayList<>(this.searchers.length - 1);
+        for (int i = 1; i < this.searchers.length; i++) {
+            Searcher searcher = this.searchers[i];
+            futures.add(this.getHelperPool().submit(searcher::search));
+        }
+        this.searchers[0].search();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while searching", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to search", e.getCause());
+            }
+        }
+
+        // Menggabungkan jumlah kunjungan dan hadiah anak akar seluruh pohon untuk setiap aksi
+        long[] visits = new long[Bitboards.SQUARE_COUNT];
+        long[] rewards = new long[Bitboards.SQUARE_COUNT];
+        for (Searcher searcher : this.searchers) {
+            MonteCarloTree tree = searcher.tree;
+            for (int child = tree.getFirstChild(MonteCarloTree.ROOT); child != MonteCarloTree.NONE; child = tree.getNextSibling(child)) {
+                int square = Bitboards.indexOf(tree.getMove(child));
+                visits[square] += tree.getVisits(child);
+                rewards[square] += tree.getReward(child);
+            }
+        }
+
+        // Memilih aksi yang paling banyak dikunjungi; jumlah hadiah memecah kunjungan yang sama
+        int bestSquare = Long.numberOfTrailingZeros(board.getEmptyMask());
+        for (int square = 0; square < Bitboards.SQUARE_COUNT; square++) {
+            if (visits[square] > visits[bestSquare] || (visits[square] == visits[bestSquare] && rewards[square] > rewards[bestSquare])) {
+                bestSquare = square;
+            }
+        }
+
+        this.lastRootXBits = board.getPlayerXMask();
+        this.lastRootOBits = board.getPlayerOMask();
+        this.lastRootPliesLeft = board.getPliesLeft();
+        this.lastMove = Bitboards.coordinateOf(bestSquare);
+
+        // Statistik pencarian dicetak hanya jika diminta dengan -Dasg.search.log=true
+        if (Boolean.getBoolean("asg.search.log")) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "mcts threads=%d move=%d,%d visits=%d winRate=%.3f playouts=%d pps=%.0f reused=%d time=%.3f%n",
+                    this.searchers.length, Coordinate.getX(this.lastMove), Coordinate.getY(this.lastMove),
+                    visits[bestSquare], visits[bestSquare] == 0 ? 0 : rewards[bestSquare] / (2.0 * visits[bestSquare]),
+                    this.playouts.get(), this.playouts.get() / Math.max(seconds, 1e-9), reused, seconds);
+        }
+        return this.lastMove;
+    }
+
+    /**
+     * Mencari langkah lawan yang mengubah akar pencarian sebelumnya setelah langkah bot ini menjadi papan yang
+     * diberikan.
+     * @return Koordinat langkah lawan, atau {@code -1} jika papan tidak dicapai dengan cara tersebut.
+     */
+    private byte findOpponentMove(Board board) {
+        if (this.lastRootPliesLeft - 2 != board.getPliesLeft()) return -1;
+
+        long previous = this.lastRootXBits | this.lastRootOBits;
+        long filled = board.getPlayerXMask() | board.getPlayerOMask();
+        long lastMoveBit = 1L << Bitboards.indexOf(this.lastMove);
+        long added = filled & ~previous;
+        if ((previous & ~filled) != 0 || Long.bitCount(added) != 2 || (added & lastMoveBit) == 0) return -1;
+        byte opponentMove = Bitboards.coordinateOf(Long.numberOfTrailingZeros(added & ~lastMoveBit));
+
+        // Memastikan kedua langkah tersebut memang menghasilkan papan yang diberikan
+        Board expected = new Board(board.getCurrentPlayer(), board.getPliesLeft() + 2, this.lastRootXBits, this.lastRootOBits);
+        expected.act(this.lastMove);
+        expected.act(opponentMove);
+        if (expected.getPlayerXMask() != board.getPlayerXMask() || expected.getPlayerOMask() != board.getPlayerOMask()) return -1;
+        return opponentMove;
+    }
+
+    @Override
+    public long getNodeCount() {
+        return this.playouts.get();
+    }
+
+    /**
+     * Pencari milik satu thread, dengan pohon dan sumber bilangan acaknya sendiri. Pohon cadangan dipakai untuk
+     * menyalin subpohon yang dipakai ulang sehingga tidak ada pohon yang dialokasikan ulang.
+     */
+    private class Searcher {
+        private final SplittableRandom random;
+        private MonteCarloTree tree;
+        private MonteCarloTree spareTree;
+        // Jalur simpul dari akar pada iterasi saat ini
+        private final int[] path = new int[Bitboards.SQUARE_COUNT + 1];
+        private long rootXBits, rootOBits;
+        private boolean rootXToMove;
+        private int rootPliesLeft;
+        // Papan ringkas pada iterasi saat ini: bitboard X, bitboard O, dan giliran
+        private long x, o;
+        private boolean xToMove;
+
+        private Searcher(SplittableRandom random, int maxTreeSize) {
+            this.random = random;
+            this.tree = new MonteCarloTree(maxTreeSize);
+            this.spareTree = new MonteCarloTree(maxTreeSize);
+        }
+
+        /**
+         * Menyiapkan akar pencarian untuk papan yang diberikan.
+         * @param opponentMove Langkah lawan setelah langkah terakhir bot, atau {@code -1} jika pohon tidak dapat dipakai ulang.
+         * @return Banyak kunjungan akar yang dipakai ulang.
+         */
+        private long reset(Board board, byte opponentMove) {
+            this.rootXBits = board.getPlayerXMask();
+            this.rootOBits = board.getPlayerOMask();
+            this.rootXToMove = board.getCurrentPlayer() == PlayerMarks.X;
+            this.rootPliesLeft = board.getPliesLeft();
+
+            int node = opponentMove == -1 ? MonteCarloTree.NONE : this.tree.getChild(MonteCarloTree.ROOT, lastMove);
+            if (node != MonteCarloTree.NONE) node = this.tree.getChild(node, opponentMove);
+            if (node == MonteCarloTree.NONE) {
+                this.tree.clear(board.getEmptyMask());
+                return 0;
+            }
+
+            MonteCarloTree reusedTree = this.spareTree;
+            reusedTree.copyOf(this.tree, node);
+            this.spareTree = this.tree;
+            this.tree = reusedTree;
+            return this.tree.getVisits(MonteCarloTree.ROOT);
+        }
+
+        /**
+         * Menjalankan iterasi MCTS hingga pencarian dihentikan atau tenggat lunak lewat. Iterasi pertama selalu
+         * dijalankan agar akar memiliki paling sedikit satu anak.
+         */
+        private void search() {
+            do {
+                for (int i = 0; i < PLAYOUT_BATCH; i++) {
+                    this.iterate();
+                }
+                playouts.addAndGet(PLAYOUT_BATCH);
+            } while (!isSoftStopped());
+        }
+
+        /**
+         * Menjalankan satu iterasi MCTS: seleksi dengan UCT, ekspansi satu simpul, playout, dan propagasi balik.
+         */
+        private void iterate() {
+            MonteCarloTree tree = this.tree;
+            this.x = this.rootXBits;
+            this.o = this.rootOBits;
+            this.xToMove = this.rootXToMove;
+            int pliesLeft = this.rootPliesLeft;
+            int node = MonteCarloTree.ROOT, depth = 0;
+            this.path[0] = node;
+
+            // Seleksi: turun selama seluruh aksi simpul sudah dicoba
+            while (tree.getUntriedMoves(node) == 0 && tree.getFirstChild(node) != MonteCarloTree.NONE) {
+                node = this.selectChild(tree, node);
+                int square = Bitboards.indexOf(tree.getMove(node));
+                this.play(square, Bitboards.neighbors(square) & (this.xToMove ? this.o : this.x));
+                pliesLeft--;
+                this.path[++depth] = node;
+            }
+
+            // Ekspansi: menambahkan satu aksi acak yang belum dicoba jika pohon belum penuh
+            long untried = tree.getUntriedMoves(node);
+            if (untried != 0 && pliesLeft > 0 && !tree.isFull()) {
+                int square = Bitboards.nthSquare(untried, this.random.nextInt(Long.bitCount(untried)));
+                this.play(square, Bitboards.neighbors(square) & (this.xToMove ? this.o : this.x));
+                pliesLeft--;
+                node = tree.addChild(node, square, pliesLeft > 0 ? ~(this.x | this.o) : 0);
+                this.path[++depth] = node;
+            }
+
+            // Playout hingga akhir permainan
+            int outcome = this.playout(pliesLeft);
+
+            // Propagasi balik: simpul pada kedalaman ganjil dicapai dengan aksi pemain yang memegang giliran pada akar
+            boolean rootPlayerIsX = this.rootXToMove;
+            tree.addResult(MonteCarloTree.ROOT, 0);
+            for (int d = 1; d <= depth; d++) {
+                boolean moverIsX = (d % 2 == 1) == rootPlayerIsX;
+                tree.addResult(this.path[d], outcome == 0 ? 1 : (outcome > 0) == moverIsX ? 2 : 0);
+            }
+        }
+
+        /**
+         * Memilih anak dengan nilai UCT terbesar. Seluruh anak sudah pernah dikunjungi karena setiap anak dibuat
+         * bersama satu playout.
+         */
+        private int selectChild(MonteCarloTree tree, int node) {
+            double logVisits = Math.log(tree.getVisits(node));
+            int best = MonteCarloTree.NONE;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = tree.getFirstChild(node); child != MonteCarloTree.NONE; child = tree.getNextSibling(child)) {
+                long childVisits = tree.getVisits(child);
+                double value = tree.getReward(child) / (2.0 * childVisits) + exploration * Math.sqrt(logVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Memainkan sisa permainan pada papan ringkas tanpa alokasi. Setiap aksi dipilih dari beberapa kotak kosong
+         * acak, yaitu kotak yang menangkap markah lawan paling banyak.
+         * @return Positif jika X menang, negatif jika O menang, dan nol jika seri.
+         */
+        private int playout(int pliesLeft) {
+            SplittableRandom random = this.random;
+            for (; pliesLeft > 0; pliesLeft--) {
+                long empty = ~(this.x | this.o);
+                int emptyCount = Long.bitCount(empty);
+                if (emptyCount == 0) break;
+
+                long opponent = this.xToMove ? this.o : this.x;
+                int square = Bitboards.nthSquare(empty, random.nextInt(emptyCount));
+                long flipped = Bitboards.neighbors(square) & opponent;
+                for (int sample = 1; sample < playoutSamples; sample++) {
+                    int candidate = Bitboards.nthSquare(empty, random.nextInt(emptyCount));
+                    long candidateFlipped = Bitboards.neighbors(candidate) & opponent;
+                    if (Long.bitCount(candidateFlipped) > Long.bitCount(flipped)) {
+                        square = candidate;
+                        flipped = candidateFlipped;
+                    }
+                }
+                this.play(square, flipped);
+            }
+            return Integer.compare(Long.bitCount(this.x), Long.bitCount(this.o));
+        }
+
+        /**
+         * Melakukan aksi pada papan ringkas untuk pemain yang memegang giliran: kotak diisi, markah lawan yang
+         * bertetanggaan berpindah, lalu giliran berganti.
+         * @param square Indeks kotak kosong.
+         * @param flipped Bitboard markah lawan yang bertetanggaan dengan kotak tersebut.
+         */
+        private void play(int square, long flipped) {
+            if (this.xToMove) {
+                this.x |= 1L << square | flipped;
+                this.o &= ~flipped;
+            } else {
+                this.o |= 1L << square | flipped;
+                this.x &= ~flipped;
+            }
+            this.xToMove = !this.xToMove;
+        }
+    }
+
+    private ExecutorService getHelperPool() {
+        if (this.helperPool == null) {
+            // Thread pembantu milik bot ini; thread yang menganggur dihentikan agar bot yang sudah tidak dipakai tidak menahan thread
+            int helperCount = this.threadCount - 1;
+            this.helperPool = new ThreadPoolExecutor(helperCount, helperCount,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "mcts-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.helperPool.allowCoreThreadTimeOut(true);
+        }
+        return this.helperPool;
+    }
+}
@@ -1,20 +1,19 @@
 package asg.bot;
 
+import asg.struct.Bitboards;
 import asg.struct.Board;
 
-import java.util.List;
-
 /**
  * Hanya sebagai contoh implementasi.
  */
 public class BotRandom extends BotBase {
     @Override
     protected byte searchMove(Board board) {
-        List<Byte> moves = board.getEmptySquares();
+        long moves = board.getEmptyMask();
 
         // Choose a random move from a set of valid moves on the board
-        byte move = moves.get((int)(Math.random() * moves.size()));
+        int square = Bitboards.nthSquare(moves, (int) (Math.random() * Long.bitCount(moves)));
 
-        return move;
+        return Bitboards.coordinateOf(square);
     }
 }
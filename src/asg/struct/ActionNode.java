@@ -7,24 +7,15 @@ import java.util.Objects;
 public class ActionNode {
     public Integer evaluationScore;
     public Byte action;
-    public Board board;
 
     public ActionNode(){
         this.evaluationScore = null;
         this.action = null;
-        this.board = null;
     }
 
     public ActionNode(Integer evaluationScore, Byte action){
         this.evaluationScore = evaluationScore;
         this.action = action;
-        this.board = null;
-    }
-
-    public ActionNode(Byte action, Board board){
-        this.evaluationScore = null;
-        this.action = action;
-        this.board = board;
     }
 
     @Override
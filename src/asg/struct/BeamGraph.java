@@ -0,0 +1,177 @@
+package asg.struct;
+
+import java.util.Arrays;
+
+/**
+ * Graf berarah asiklik (DAG) berlapis untuk Local Beam Search yang menggabungkan transposisi, yaitu posisi sama yang
+ * dicapai dengan urutan aksi berbeda. Lapisan ke-l berisi posisi-posisi setelah l aksi dari akar, dan setiap sisi
+ * menghubungkan simpul pada lapisan l dengan anaknya pada lapisan l + 1 melalui satu aksi. Sebuah simpul dapat
+ * memiliki beberapa induk.
+ * <p>
+ * Setiap simpul hanya menyimpan bitboard kedua pemain dan nilainya, dan setiap sisi menyimpan indeks induk, indeks
+ * anak, dan aksinya, semuanya dalam array primitif yang dipakai ulang oleh {@link #clear(Board)}. Pemain yang memegang
+ * giliran disimpan per lapisan dan dapat dibaca dengan {@link #getLayerPlayer(int)}.
+ */
+public class BeamGraph {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final PlayerMarks[] layerPlayers = new PlayerMarks[Bitboards.SQUARE_COUNT + 1];
+    private final int[] layerPliesLeft = new int[Bitboards.SQUARE_COUNT + 1];
+    // Simpul lapisan ke-l menempati indeks layerStarts[l] hingga sebelum layerStarts[l + 1]; sisi yang menuju
+    // lapisan ke-l menempati indeks edgeStarts[l] hingga sebelum edgeStarts[l + 1]
+    private final int[] layerStarts = new int[Bitboards.SQUARE_COUNT + 2];
+    private final int[] edgeStarts = new int[Bitboards.SQUARE_COUNT + 2];
+    private int layerCount;
+
+    private long[] playerXBits = new long[DEFAULT_CAPACITY];
+    private long[] playerOBits = new long[DEFAULT_CAPACITY];
+    private int[] scores = new int[DEFAULT_CAPACITY];
+    private int nodeCount;
+
+    private int[] edgeParents = new int[DEFAULT_CAPACITY];
+    private int[] edgeChildren = new int[DEFAULT_CAPACITY];
+    private byte[] edgeMoves = new byte[DEFAULT_CAPACITY];
+    private int edgeCount;
+
+    /**
+     * Mengosongkan graf sehingga hanya berisi lapisan akar dengan satu simpul, yaitu papan yang diberikan.
+     * @param root Kondisi papan pada akar.
+     */
+    public void clear(Board root) {
+        this.layerCount = 1;
+        this.nodeCount = 0;
+        this.edgeCount = 0;
+        this.layerPlayers[0] = root.getCurrentPlayer();
+        this.layerPliesLeft[0] = root.getPliesLeft();
+        this.layerStarts[0] = 0;
+        this.edgeStarts[0] = 0;
+        this.edgeStarts[1] = 0;
+        this.addNode(root.getPlayerXMask(), root.getPlayerOMask(), SearchTree.NO_SCORE);
+        this.layerStarts[1] = this.nodeCount;
+    }
+
+    /**
+     * Memulai lapisan baru. Simpul dan sisi yang ditambahkan setelahnya termasuk lapisan ini.
+     * @throws IllegalStateException Jika lapisan terakhir tidak memiliki sisa ronde.
+     */
+    public void startLayer() {
+        int last = this.layerCount - 1;
+        if (this.layerPliesLeft[last] == 0) throw new IllegalStateException("No plies left");
+        this.layerPlayers[this.layerCount] = this.layerPlayers[last] == PlayerMarks.X ? PlayerMarks.O : PlayerMarks.X;
+        this.layerPliesLeft[this.layerCount] = this.layerPliesLeft[last] - 1;
+        this.layerCount++;
+        this.layerStarts[this.layerCount] = this.nodeCount;
+        this.edgeStarts[this.layerCount] = this.edgeCount;
+    }
+
+    public int getLayerCount() {
+        return this.layerCount;
+    }
+
+    /**
+     * Mengembalikan pemain yang memegang giliran pada simpul-simpul suatu lapisan.
+     * @param layer Nomor lapisan, dengan 0 sebagai lapisan akar.
+     * @return Pemain yang memegang giliran.
+     */
+    public PlayerMarks getLayerPlayer(int layer) {
+        return this.layerPlayers[layer];
+    }
+
+    public int getLayerStart(int layer) {
+        return this.layerStarts[layer];
+    }
+
+    public int getLayerEnd(int layer) {
+        return this.layerStarts[layer + 1];
+    }
+
+    /**
+     * Mengembalikan banyak simpul pada seluruh lapisan.
+     * @return Banyak simpul.
+     */
+    public int size() {
+        return this.nodeCount;
+    }
+
+    public long getPlayerXBits(int node) {
+        return this.playerXBits[node];
+    }
+
+    public long getPlayerOBits(int node) {
+        return this.playerOBits[node];
+    }
+
+    public int getScore(int node) {
+        return this.scores[node];
+    }
+
+    /**
+     * Menambahkan simpul ke lapisan terakhir.
+     * @param playerXBits Bitboard markah X.
+     * @param playerOBits Bitboard markah O.
+     * @param score Nilai evaluasi simpul sebagai daun.
+     * @return Indeks simpul yang baru dibuat.
+     */
+    public int addNode(long playerXBits, long playerOBits, int score) {
+        if (this.nodeCount == this.scores.length) {
+            int capacity = this.nodeCount * 2;
+            this.playerXBits = Arrays.copyOf(this.playerXBits, capacity);
+            this.playerOBits = Arrays.copyOf(this.playerOBits, capacity);
+            this.scores = Arrays.copyOf(this.scores, capacity);
+        }
+        this.playerXBits[this.nodeCount] = playerXBits;
+        this.playerOBits[this.nodeCount] = playerOBits;
+        this.scores[this.nodeCount] = score;
+        this.layerStarts[this.layerCount] = ++this.nodeCount;
+        return this.nodeCount - 1;
+    }
+
+    /**
+     * Menambahkan sisi dari simpul lapisan sebelumnya ke simpul lapisan terakhir.
+     * @param parent Indeks simpul induk.
+     * @param move Koordinat aksi dari induk ke anak.
+     * @param child Indeks simpul anak.
+     */
+    public void addEdge(int parent, byte move, int child) {
+        if (this.edgeCount == this.edgeMoves.length) {
+            int capacity = this.edgeCount * 2;
+            this.edgeParents = Arrays.copyOf(this.edgeParents, capacity);
+            this.edgeChildren = Arrays.copyOf(this.edgeChildren, capacity);
+            this.edgeMoves = Arrays.copyOf(this.edgeMoves, capacity);
+        }
+        this.edgeParents[this.edgeCount] = parent;
+        this.edgeChildren[this.edgeCount] = child;
+        this.edgeMoves[this.edgeCount] = move;
+        this.edgeStarts[this.layerCount] = ++this.edgeCount;
+    }
+
+    /**
+     * Menghitung nilai minimax seluruh simpul dari lapisan terakhir ke akar. Simpul lapisan terakhir bernilai nilai
+     * evaluasinya sebagai daun, sedangkan simpul lapisan sebelumnya yang tidak memiliki anak dianggap sudah dibuang
+     * dari beam dan tidak ikut menentukan nilai induknya.
+     * @return Aksi dari akar menuju anak dengan nilai minimax terbaik bagi pemain pada akar.
+     * @throws IllegalStateException Jika graf belum memiliki lapisan selain akar.
+     */
+    public byte evaluate() {
+        if (this.layerCount < 2) throw new IllegalStateException("Graph has no layer below the root");
+
+        for (int layer = this.layerCount - 2; layer >= 0; layer--) {
+            // Lapisan genap dimainkan oleh pemain pada akar (simpul max), lapisan ganjil oleh lawannya (simpul min)
+            boolean isMax = layer % 2 == 0;
+            Arrays.fill(this.scores, this.layerStarts[layer], this.layerStarts[layer + 1], SearchTree.NO_SCORE);
+            for (int edge = this.edgeStarts[layer + 1]; edge < this.edgeStarts[layer + 2]; edge++) {
+                int childScore = this.scores[this.edgeChildren[edge]];
+                if (childScore == SearchTree.NO_SCORE) continue;
+                int parent = this.edgeParents[edge];
+                if (this.scores[parent] == SearchTree.NO_SCORE
+                        || (isMax ? childScore > this.scores[parent] : childScore < this.scores[parent])) {
+                    this.scores[parent] = childScore;
+                }
+            }
+        }
+
+        for (int edge = this.edgeStarts[1]; ; edge++) {
+            if (this.scores[this.edgeChildren[edge]] == this.scores[0]) return this.edgeMoves[edge];
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package asg.struct;
+
+import asg.Vars;
+
+/**
+ * Utilitas bitboard untuk papan 8x8. Kotak pada baris {@code row} dan kolom {@code col}
+ * dipetakan ke bit ke-{@code row * 8 + col} dari sebuah {@code long}.
+ */
+public final class Bitboards {
+    public static final int SQUARE_COUNT = 64;
+    // Banyak simetri dihedral papan persegi: identitas, tiga rotasi, dan empat pencerminan
+    public static final int SYMMETRY_COUNT = 8;
+
+    private static final long NOT_FIRST_COL = 0xFEFEFEFEFEFEFEFEL;
+    private static final long NOT_LAST_COL = 0x7F7F7F7F7F7F7F7FL;
+
+    private static final long[] NEIGHBOR_MASKS = new long[SQUARE_COUNT];
+    private static final long[] DIAGONAL_MASKS = new long[SQUARE_COUNT];
+    private static final int[][] SYMMETRIC_SQUARES = new int[SYMMETRY_COUNT][SQUARE_COUNT];
+    private static final int[] INVERSE_SYMMETRIES = new int[SYMMETRY_COUNT];
+    static {
+        if (Vars.BOARD_ROW_COUNT * Vars.BOARD_COL_COUNT != SQUARE_COUNT || Vars.BOARD_COL_COUNT != 8) {
+            throw new IllegalStateException("Bitboard representation requires an 8x8 board");
+        }
+
+        // Hitung tetangga ortogonal dan diagonal setiap kotak dengan operasi geser
+        for (int square = 0; square < SQUARE_COUNT; square++) {
+            long bit = 1L << square;
+            long up = bit >>> 8, down = bit << 8;
+            NEIGHBOR_MASKS[square] = up | down | (bit << 1 & NOT_FIRST_COL) | (bit >>> 1 & NOT_LAST_COL);
+            DIAGONAL_MASKS[square] = (up << 1 & NOT_FIRST_COL) | (up >>> 1 & NOT_LAST_COL)
+                    | (down << 1 & NOT_FIRST_COL) | (down >>> 1 & NOT_LAST_COL);
+        }
+
+        // Simetri ke-k: tukar baris dan kolom jika bit 2 menyala, lalu cerminkan baris (bit 0) dan kolom (bit 1).
+        // Simetri 0 adalah identitas.
+        for (int symmetry = 0; symmetry < SYMMETRY_COUNT; symmetry++) {
+            for (int square = 0; square < SQUARE_COUNT; square++) {
+                int row = square >>> 3, col = square & 7;
+                if ((symmetry & 4) != 0) {
+                    int temp = row;
+                    row = col;
+                    col = temp;
+                }
+                if ((symmetry & 1) != 0) row = 7 - row;
+                if ((symmetry & 2) != 0) col = 7 - col;
+                SYMMETRIC_SQUARES[symmetry][square] = indexOf(row, col);
+            }
+        }
+        for (int symmetry = 0; symmetry < SYMMETRY_COUNT; symmetry++) {
+            for (int inverse = 0; inverse < SYMMETRY_COUNT; inverse++) {
+                if (SYMMETRIC_SQUARES[inverse][SYMMETRIC_SQUARES[symmetry][1]] == 1
+                        && SYMMETRIC_SQUARES[inverse][SYMMETRIC_SQUARES[symmetry][8]] == 8) {
+                    INVERSE_SYMMETRIES[symmetry] = inverse;
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    /**
+     * Mengembalikan mask kotak-kotak yang bertetanggaan secara ortogonal dengan kotak yang diberikan.
+     *
+     * @param square Indeks kotak (0-63).
+     * @return Mask tetangga atas, bawah, kiri, dan kanan.
+     */
+    public static long neighbors(int square) {
+        return NEIGHBOR_MASKS[square];
+    }
+
+    /**
+     * Mengembalikan mask kotak-kotak yang bertetanggaan secara diagonal dengan kotak yang diberikan.
+     *
+     * @param square Indeks kotak (0-63).
+     * @return Mask keempat tetangga diagonal.
+     */
+    public static long diagonals(int square) {
+        return DIAGONAL_MASKS[square];
+    }
+
+    /**
+     * Mengembalikan indeks kotak ke-{@code n} (dimulai dari 0) yang ditandai pada mask.
+     *
+     * @param mask Mask kotak.
+     * @param n    Urutan kotak yang dicari, harus kurang dari {@code Long.bitCount(mask)}.
+     * @return Indeks kotak (0-63).
+     */
+    public static int nthSquare(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Mengembalikan kotak hasil pemetaan kotak yang diberikan oleh sebuah simetri papan.
+     *
+     * @param symmetry Nomor simetri (0-7), dengan 0 sebagai identitas.
+     * @param square   Indeks kotak (0-63).
+     * @return Indeks kotak hasil pemetaan.
+     */
+    public static int symmetricSquare(int symmetry, int square) {
+        return SYMMETRIC_SQUARES[symmetry][square];
+    }
+
+    /**
+     * Mengembalikan simetri kebalikan dari simetri yang diberikan, yaitu simetri yang memetakan kembali setiap kotak
+     * ke posisi semulanya.
+     *
+     * @param symmetry Nomor simetri (0-7).
+     * @return Nomor simetri kebalikannya.
+     */
+    public static int inverseSymmetry(int symmetry) {
+        return INVERSE_SYMMETRIES[symmetry];
+    }
+
+    public static int indexOf(int row, int col) {
+        return (row << 3) | col;
+    }
+
+    public static int indexOf(byte coordinate) {
+        return indexOf(Coordinate.getX(coordinate), Coordinate.getY(coordinate));
+    }
+
+    public static byte coordinateOf(int square) {
+        return Coordinate.of(square >>> 3, square & 7);
+    }
+}
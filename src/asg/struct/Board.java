@@ -3,31 +3,59 @@ package asg.struct;
 import asg.Vars;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class Board {
+    // Seed tetap agar hash Zobrist sama di setiap proses, sehingga dapat disimpan di berkas (misalnya buku pembukaan)
+    private static final long ZOBRIST_SEED = 0x41534741444A4143L;
     private static final long[][] ZOBRIST_BOARD_BITSTRINGS;
+    private static final long[] ZOBRIST_FLIP_BITSTRINGS;
     private static final long ZOBRIST_PLAYER_X_BITSTRING;
+    // Bitstring kotak untuk setiap varian simetri papan, pada indeks square * SYMMETRY_COUNT + simetri:
+    // hash varian ke-k adalah hash Zobrist papan yang sudah dipetakan oleh simetri ke-k
+    private static final long[][] SYMMETRIC_BOARD_BITSTRINGS;
+    private static final long[] SYMMETRIC_FLIP_BITSTRINGS;
     static {
         // Inisialisasi bitstring acak untuk setiap kotak
-        ZOBRIST_BOARD_BITSTRINGS = new long[PlayerMarks.values().length][Vars.BOARD_ROW_COUNT * Vars.BOARD_COL_COUNT];
-        for (int i = 0; i < Vars.BOARD_ROW_COUNT * Vars.BOARD_COL_COUNT; i++) {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        ZOBRIST_BOARD_BITSTRINGS = new long[PlayerMarks.values().length][Bitboards.SQUARE_COUNT];
+        ZOBRIST_FLIP_BITSTRINGS = new long[Bitboards.SQUARE_COUNT];
+        for (int i = 0; i < Bitboards.SQUARE_COUNT; i++) {
             for (int j = 0; j < ZOBRIST_BOARD_BITSTRINGS.length; j++) {
-                ZOBRIST_BOARD_BITSTRINGS[j][i] = j == PlayerMarks.EMPTY.ordinal() ? 0 : ThreadLocalRandom.current().nextLong();
+                ZOBRIST_BOARD_BITSTRINGS[j][i] = j == PlayerMarks.EMPTY.ordinal() ? 0 : random.nextLong();
             }
+            // Bitstring untuk mengubah markah X menjadi O pada kotak ini, atau sebaliknya
+            ZOBRIST_FLIP_BITSTRINGS[i] = ZOBRIST_BOARD_BITSTRINGS[PlayerMarks.X.ordinal()][i] ^ ZOBRIST_BOARD_BITSTRINGS[PlayerMarks.O.ordinal()][i];
         }
         // Inisialisasi bistring acak untuk giliran pemain
-        ZOBRIST_PLAYER_X_BITSTRING = ThreadLocalRandom.current().nextLong();
+        ZOBRIST_PLAYER_X_BITSTRING = random.nextLong();
+
+        SYMMETRIC_BOARD_BITSTRINGS = new long[ZOBRIST_BOARD_BITSTRINGS.length][Bitboards.SQUARE_COUNT * Bitboards.SYMMETRY_COUNT];
+        SYMMETRIC_FLIP_BITSTRINGS = new long[Bitboards.SQUARE_COUNT * Bitboards.SYMMETRY_COUNT];
+        for (int i = 0; i < Bitboards.SQUARE_COUNT; i++) {
+            for (int k = 0; k < Bitboards.SYMMETRY_COUNT; k++) {
+                int target = Bitboards.symmetricSquare(k, i);
+                for (int j = 0; j < ZOBRIST_BOARD_BITSTRINGS.length; j++) {
+                    SYMMETRIC_BOARD_BITSTRINGS[j][i * Bitboards.SYMMETRY_COUNT + k] = ZOBRIST_BOARD_BITSTRINGS[j][target];
+                }
+                SYMMETRIC_FLIP_BITSTRINGS[i * Bitboards.SYMMETRY_COUNT + k] = ZOBRIST_FLIP_BITSTRINGS[target];
+            }
+        }
     }
 
-    private final int row, col;
-    private final PlayerMarks[][] state;
-    private final Set<Byte> emptySquares;
     private PlayerMarks currentPlayer;
-    private int playerXScore;
-    private int playerOScore;
+    private long playerXBits;
+    private long playerOBits;
     private int pliesLeft;
     private long zobristHash;
+    // Hash Zobrist setiap varian simetri papan (indeks 0 sama dengan zobristHash), hanya diperbarui secara
+    // inkremental jika Vars.SYMMETRIC_HASHING aktif karena biayanya ditanggung oleh setiap aksi; null jika tidak
+    private final long[] symmetricHashes = Vars.SYMMETRIC_HASHING ? new long[Bitboards.SYMMETRY_COUNT] : null;
+
+    // Riwayat keadaan untuk undo(): bitboard X, bitboard O, hash Zobrist, dan (jika dilacak) hash setiap varian
+    // simetri untuk setiap aksi
+    private static final int UNDO_FRAME_SIZE = 3 + (Vars.SYMMETRIC_HASHING ? Bitboards.SYMMETRY_COUNT : 0);
+    private long[] undoStack;
+    private int undoCount;
 
     /**
      * Menginisialisasi sebuah papan baru.
@@ -41,25 +69,55 @@ public class Board {
         if (currentPlayer == PlayerMarks.EMPTY) throw new IllegalArgumentException("Current player cannot be empty");
         if (pliesLeft <= 0) throw new IllegalArgumentException("Number of plies left must be positive");
 
-        this.row = Vars.BOARD_ROW_COUNT;
-        this.col = Vars.BOARD_COL_COUNT;
         this.currentPlayer = currentPlayer;
         this.pliesLeft = pliesLeft;
 
-        this.state = new PlayerMarks[row][col];
-        for (int i = 0; i < row; i++) {
-            Arrays.fill(this.state[i], PlayerMarks.EMPTY);
-        }
+        // Inisialisasi hash Zobrist
+        this.zobristHash = this.currentPlayer == PlayerMarks.X ? ZOBRIST_PLAYER_X_BITSTRING : 0;
+        if (this.symmetricHashes != null) Arrays.fill(this.symmetricHashes, this.zobristHash);
+    }
 
-        this.emptySquares = new HashSet<>();
-        for (int r = 0; r < this.row; r++) {
-            for (int c = 0; c < this.col; c++) {
-                this.emptySquares.add(Coordinate.of(r, c));
-            }
+    /**
+     * Membentuk papan dari bitboard markah kedua pemain, misalnya untuk memulihkan keadaan yang disimpan secara ringkas.
+     *
+     * @param currentPlayer Pemain yang memegang giliran sekarang pada permainan.
+     * @param pliesLeft     Banyak ronde yang tersisa.
+     * @param playerXBits   Bitboard markah X.
+     * @param playerOBits   Bitboard markah O.
+     * @throws IllegalArgumentException Jika {@code pliesLeft} tidak bernilai positif, jika {@code currentPlayer}
+     *                                  bukan pemain valid, atau jika kedua bitboard beririsan.
+     */
+    public Board(PlayerMarks currentPlayer, int pliesLeft, long playerXBits, long playerOBits) {
+        this(currentPlayer, pliesLeft);
+        if ((playerXBits & playerOBits) != 0) throw new IllegalArgumentException("Player bitboards overlap");
+
+        for (long bits = playerXBits; bits != 0; bits &= bits - 1) {
+            this.placeAt(Long.numberOfTrailingZeros(bits), PlayerMarks.X);
+        }
+        for (long bits = playerOBits; bits != 0; bits &= bits - 1) {
+            this.placeAt(Long.numberOfTrailingZeros(bits), PlayerMarks.O);
         }
+    }
 
-        // Inisialisasi hash Zobrist
-        this.zobristHash = this.currentPlayer == PlayerMarks.X ? ZOBRIST_PLAYER_X_BITSTRING : 0;
+    /**
+     * Membentuk papan awal permainan: empat markah X di pojok kiri bawah dan empat markah O di pojok kanan atas.
+     *
+     * @param firstPlayer Pemain yang mendapat giliran pertama.
+     * @param rounds      Banyak ronde permainan; setiap ronde terdiri dari satu giliran untuk setiap pemain.
+     * @return Papan awal permainan.
+     */
+    public static Board initial(PlayerMarks firstPlayer, int rounds) {
+        Board board = new Board(firstPlayer, 2 * rounds);
+        int lastRow = Vars.BOARD_ROW_COUNT - 1, lastCol = Vars.BOARD_COL_COUNT - 1;
+        board.setAt(lastRow - 1, 0, PlayerMarks.X);
+        board.setAt(lastRow, 0, PlayerMarks.X);
+        board.setAt(lastRow - 1, 1, PlayerMarks.X);
+        board.setAt(lastRow, 1, PlayerMarks.X);
+        board.setAt(0, lastCol - 1, PlayerMarks.O);
+        board.setAt(0, lastCol, PlayerMarks.O);
+        board.setAt(1, lastCol - 1, PlayerMarks.O);
+        board.setAt(1, lastCol, PlayerMarks.O);
+        return board;
     }
 
     /**
@@ -71,41 +129,78 @@ public class Board {
     public Board(Board other) {
         if (other == null) throw new NullPointerException();
 
-        this.row = other.row;
-        this.col = other.col;
         this.currentPlayer = other.currentPlayer;
         this.pliesLeft = other.pliesLeft;
+        this.playerXBits = other.playerXBits;
+        this.playerOBits = other.playerOBits;
+        this.zobristHash = other.zobristHash;
+        if (this.symmetricHashes != null) {
+            System.arraycopy(other.symmetricHashes, 0, this.symmetricHashes, 0, Bitboards.SYMMETRY_COUNT);
+        }
+    }
 
-        this.state = new PlayerMarks[this.row][this.col];
-        for (int i = 0; i < row; i++) {
-            System.arraycopy(other.state[i], 0, this.state[i], 0, col);
+    /**
+     * Mengembalikan array berisi koordinat kotak kosong pada papan.
+     *
+     * @return List berisi koordinat kotak-kotak kosong pada papan.
+     */
+    public List<Byte> getEmptySquares() {
+        long empty = this.getEmptyMask();
+        List<Byte> squares = new ArrayList<>(Long.bitCount(empty));
+        for (; empty != 0; empty &= empty - 1) {
+            squares.add(Bitboards.coordinateOf(Long.numberOfTrailingZeros(empty)));
         }
+        return squares;
+    }
 
-        this.emptySquares = new HashSet<>(other.emptySquares);
+    /**
+     * Menuliskan koordinat kotak-kotak kosong pada papan ke buffer yang diberikan, terurut dari kotak kiri atas.
+     *
+     * @param buffer Buffer tujuan; harus dapat menampung hingga 64 koordinat.
+     * @return Banyak koordinat yang dituliskan ke {@code buffer}.
+     */
+    public int getEmptySquares(byte[] buffer) {
+        int count = 0;
+        for (long empty = this.getEmptyMask(); empty != 0; empty &= empty - 1) {
+            buffer[count++] = Bitboards.coordinateOf(Long.numberOfTrailingZeros(empty));
+        }
+        return count;
+    }
 
-        this.playerXScore = other.playerXScore;
-        this.playerOScore = other.playerOScore;
+    /**
+     * Mengembalikan bitboard kotak-kotak kosong pada papan, dengan indeks kotak sesuai {@code Bitboards}.
+     *
+     * @return Mask kotak kosong.
+     */
+    public long getEmptyMask() {
+        return ~(this.playerXBits | this.playerOBits);
+    }
 
-        // Inisialisasi hash Zobrist
-        this.zobristHash = other.zobristHash;
+    /**
+     * Mengembalikan bitboard markah X pada papan, dengan indeks kotak sesuai {@code Bitboards}.
+     *
+     * @return Mask kotak milik pemain X.
+     */
+    public long getPlayerXMask() {
+        return this.playerXBits;
     }
 
     /**
-     * Mengembalikan array berisi koordinat kotak kosong pada papan.
+     * Mengembalikan bitboard markah O pada papan, dengan indeks kotak sesuai {@code Bitboards}.
      *
-     * @return List berisi koordinat kotak-kotak kosong pada papan.
+     * @return Mask kotak milik pemain O.
      */
-    public List<Byte> getEmptySquares() {
-        return new ArrayList<>(this.emptySquares);
+    public long getPlayerOMask() {
+        return this.playerOBits;
     }
 
     /**
-     * Mengembalikan true jika roundsLeft = 0 atau isEmpty(getEmptySquares())
+     * Mengembalikan true jika roundsLeft = 0 atau tidak ada kotak kosong.
      *
      * @return true if roundsLeft = 0, false if otherwise
      */
-    public Boolean isTerminal() {
-        return this.pliesLeft == 0 || this.getEmptySquares().isEmpty();
+    public boolean isTerminal() {
+        return this.pliesLeft == 0 || this.getEmptyMask() == 0;
     }
 
     /**
@@ -125,26 +220,39 @@ public class Board {
      * @return Nilai heuristik kualitas langkah ini. Nilai ini digunakan untuk pengurutan prioritas pemeriksaan langkah.
      */
     public int heuristic(int row, int col) {
+        int square = Bitboards.indexOf(row, col);
+
         // Jumlahkan nilai heuristik untuk kotak ini dan kotak-kotak yang bertetanggaan
-        int count = heuristicPart(row, col);
-        if (row > 0) count += heuristicPart(row - 1, col);
-        if (col > 0) count += heuristicPart(row, col - 1);
-        if (row < this.row - 1) count += heuristicPart(row + 1, col);
-        if (col < this.col - 1) count += heuristicPart(row, col + 1);
+        int count = heuristicPart(square);
+        for (long neighbors = Bitboards.neighbors(square); neighbors != 0; neighbors &= neighbors - 1) {
+            count += heuristicPart(Long.numberOfTrailingZeros(neighbors));
+        }
 
         return count;
     }
 
+    /**
+     * Mengembalikan banyak markah lawan yang berpindah jika pemain yang memegang giliran mengisi kotak yang diberikan.
+     * Nilai ini jauh lebih murah daripada {@link #heuristic(int, int)}, sehingga cocok untuk pengurutan langkah di setiap simpul.
+     *
+     * @param square Indeks kotak sesuai {@code Bitboards}.
+     * @return Banyak markah lawan yang bertetanggaan dengan kotak ini.
+     */
+    public int captureCount(int square) {
+        long opponent = this.currentPlayer == PlayerMarks.X ? this.playerOBits : this.playerXBits;
+        return Long.bitCount(Bitboards.neighbors(square) & opponent);
+    }
+
     public PlayerMarks getCurrentPlayer() {
         return this.currentPlayer;
     }
 
     public int getPlayerXScore() {
-        return this.playerXScore;
+        return Long.bitCount(this.playerXBits);
     }
 
     public int getPlayerOScore() {
-        return this.playerOScore;
+        return Long.bitCount(this.playerOBits);
     }
 
     public int getPliesLeft() {
@@ -159,7 +267,10 @@ public class Board {
      * @return Markah yang terletak di kotak pada koordinat yang diberikan.
      */
     public PlayerMarks getAt(int row, int col) {
-        return this.state[row][col];
+        long bit = 1L << Bitboards.indexOf(row, col);
+        if ((this.playerXBits & bit) != 0) return PlayerMarks.X;
+        if ((this.playerOBits & bit) != 0) return PlayerMarks.O;
+        return PlayerMarks.EMPTY;
     }
 
     /**
@@ -178,8 +289,20 @@ public class Board {
             Move board state initialization to constructor?
          */
         if (mark == PlayerMarks.EMPTY) throw new IllegalArgumentException("Mark is empty");
-        if (this.state[row][col] != PlayerMarks.EMPTY) throw new IllegalStateException("Target square is not empty");
-        this.setMark(row, col, mark);
+        int square = Bitboards.indexOf(row, col);
+        if (((this.playerXBits | this.playerOBits) & (1L << square)) != 0) throw new IllegalStateException("Target square is not empty");
+        this.placeAt(square, mark);
+    }
+
+    private void placeAt(int square, PlayerMarks mark) {
+        if (mark == PlayerMarks.X) this.playerXBits |= 1L << square;
+        else this.playerOBits |= 1L << square;
+        this.zobristHash ^= ZOBRIST_BOARD_BITSTRINGS[mark.ordinal()][square];
+        if (this.symmetricHashes != null) {
+            for (int k = 0; k < Bitboards.SYMMETRY_COUNT; k++) {
+                this.symmetricHashes[k] ^= SYMMETRIC_BOARD_BITSTRINGS[mark.ordinal()][square * Bitboards.SYMMETRY_COUNT + k];
+            }
+        }
     }
 
     /**
@@ -200,15 +323,74 @@ public class Board {
      * @throws IllegalStateException Jika kotak yang dituju sudah terisi markah.
      */
     public void act(int row, int col) {
-        PlayerMarks mark = this.currentPlayer;
+        this.actAt(Bitboards.indexOf(row, col));
+    }
+
+    /**
+     * Melakukan aksi seperti {@link #act(byte)}, namun menyimpan keadaan papan sebelum aksi
+     * sehingga aksi ini dapat dibatalkan dengan {@link #undo()}. Riwayat ini tidak ikut disalin
+     * oleh konstruktor salinan.
+     *
+     * @param move Koordinat yang dipilih.
+     * @throws IllegalStateException Jika kotak yang dituju sudah terisi markah.
+     */
+    public void make(byte move) {
+        if (this.undoStack == null) this.undoStack = new long[UNDO_FRAME_SIZE * Bitboards.SQUARE_COUNT];
+
+        // Setiap aksi mengisi satu kotak kosong, sehingga riwayat tidak akan melebihi 64 aksi
+        int top = UNDO_FRAME_SIZE * this.undoCount;
+        this.undoStack[top] = this.playerXBits;
+        this.undoStack[top + 1] = this.playerOBits;
+        this.undoStack[top + 2] = this.zobristHash;
+        if (this.symmetricHashes != null) {
+            System.arraycopy(this.symmetricHashes, 0, this.undoStack, top + 3, Bitboards.SYMMETRY_COUNT);
+        }
+
+        this.actAt(Bitboards.indexOf(move));
+        this.undoCount++;
+    }
+
+    /**
+     * Membatalkan aksi terakhir yang dilakukan dengan {@link #make(byte)}, mengembalikan markah,
+     * hash, giliran, dan banyak ronde yang tersisa.
+     *
+     * @throws IllegalStateException Jika tidak ada aksi yang dapat dibatalkan.
+     */
+    public void undo() {
+        if (this.undoCount == 0) throw new IllegalStateException("No action to undo");
+
+        int top = UNDO_FRAME_SIZE * --this.undoCount;
+        this.playerXBits = this.undoStack[top];
+        this.playerOBits = this.undoStack[top + 1];
+        this.zobristHash = this.undoStack[top + 2];
+        if (this.symmetricHashes != null) {
+            System.arraycopy(this.undoStack, top + 3, this.symmetricHashes, 0, Bitboards.SYMMETRY_COUNT);
+        }
+        this.currentPlayer = this.currentPlayer == PlayerMarks.X ? PlayerMarks.O : PlayerMarks.X;
+        this.pliesLeft++;
+    }
 
-        // Will throw if (row, col) is not empty
-        this.setAt(row, col, mark);
+    private void actAt(int square) {
+        long bit = 1L << square;
+        if (((this.playerXBits | this.playerOBits) & bit) != 0) throw new IllegalStateException("Target square is not empty");
+
+        // Markah lawan yang bertetanggaan dengan kotak ini berpindah ke pemain yang memegang giliran
+        boolean isX = this.currentPlayer == PlayerMarks.X;
+        long flipped = Bitboards.neighbors(square) & (isX ? this.playerOBits : this.playerXBits);
+        if (isX) {
+            this.playerXBits |= bit | flipped;
+            this.playerOBits &= ~flipped;
+        } else {
+            this.playerOBits |= bit | flipped;
+            this.playerXBits &= ~flipped;
+        }
 
-        if (row > 0) this.setMark(row - 1, col, mark, true);
-        if (col > 0) this.setMark(row, col - 1, mark, true);
-        if (row < this.row - 1) this.setMark(row + 1, col, mark, true);
-        if (col < this.col - 1) this.setMark(row, col + 1, mark, true);
+        // Flip the hash on the placed square and every captured square
+        this.zobristHash ^= ZOBRIST_BOARD_BITSTRINGS[this.currentPlayer.ordinal()][square];
+        if (this.symmetricHashes != null) this.updateSymmetricHashes(square, flipped);
+        for (; flipped != 0; flipped &= flipped - 1) {
+            this.zobristHash ^= ZOBRIST_FLIP_BITSTRINGS[Long.numberOfTrailingZeros(flipped)];
+        }
 
         // Pass turn to opponent and conclude round
         this.switchTurn();
@@ -224,55 +406,81 @@ public class Board {
         return this.zobristHash;
     }
 
-    private void setMark(int row, int col, PlayerMarks mark) {
-        this.setMark(row, col, mark, false);
-    }
+    /**
+     * Mengembalikan nilai hash Zobrist dari papan ini setelah dipetakan oleh simetri yang diberikan.
+     * Jika {@code Vars.SYMMETRIC_HASHING} tidak aktif, hash dihitung ulang dari seluruh markah pada papan.
+     *
+     * @param symmetry Nomor simetri (0-7), dengan 0 sebagai identitas.
+     * @return Nilai hash Zobrist dari varian simetri papan ini.
+     */
+    public long symmetricHash(int symmetry) {
+        if (symmetry == 0) return this.zobristHash;
+        if (this.symmetricHashes != null) return this.symmetricHashes[symmetry];
 
-    private void setMark(int row, int col, PlayerMarks mark, boolean skipEmpty) {
-        PlayerMarks oldMark = this.state[row][col];
-        if (skipEmpty && oldMark == PlayerMarks.EMPTY) return;
+        long hash = this.currentPlayer == PlayerMarks.X ? ZOBRIST_PLAYER_X_BITSTRING : 0;
+        for (long bits = this.playerXBits; bits != 0; bits &= bits - 1) {
+            hash ^= SYMMETRIC_BOARD_BITSTRINGS[PlayerMarks.X.ordinal()][Long.numberOfTrailingZeros(bits) * Bitboards.SYMMETRY_COUNT + symmetry];
+        }
+        for (long bits = this.playerOBits; bits != 0; bits &= bits - 1) {
+            hash ^= SYMMETRIC_BOARD_BITSTRINGS[PlayerMarks.O.ordinal()][Long.numberOfTrailingZeros(bits) * Bitboards.SYMMETRY_COUNT + symmetry];
+        }
+        return hash;
+    }
 
-        this.state[row][col] = mark;
-        this.emptySquares.remove(Coordinate.of(row, col));
+    /**
+     * Mengembalikan simetri yang menghasilkan hash terkecil di antara semua varian simetri papan ini, sehingga
+     * posisi-posisi yang merupakan rotasi atau pencerminan satu sama lain memiliki hash kanonik
+     * {@code symmetricHash(canonicalSymmetry())} yang sama. Jika {@code Vars.SYMMETRIC_HASHING} tidak aktif,
+     * identitas selalu dikembalikan sehingga hash kanonik sama dengan {@link #zobristHash()}.
+     *
+     * @return Nomor simetri kanonik (0-7).
+     */
+    public int canonicalSymmetry() {
+        if (this.symmetricHashes == null) return 0;
 
-        switch (oldMark) {
-            case X -> this.playerXScore--;
-            case O -> this.playerOScore--;
-        }
-        switch (mark) {
-            case X -> this.playerXScore++;
-            case O -> this.playerOScore++;
+        int symmetry = 0;
+        for (int k = 1; k < Bitboards.SYMMETRY_COUNT; k++) {
+            if (this.symmetricHashes[k] < this.symmetricHashes[symmetry]) symmetry = k;
         }
+        return symmetry;
+    }
+
+    /**
+     * Mengembalikan hash kanonik papan ini (lihat {@link #canonicalSymmetry()}).
+     *
+     * @return Nilai hash kanonik.
+     */
+    public long canonicalHash() {
+        return this.symmetricHash(this.canonicalSymmetry());
+    }
 
-        // Flip the hash on this square
-        this.zobristHash ^= ZOBRIST_BOARD_BITSTRINGS[oldMark.ordinal()][row * 8 + col];
-        this.zobristHash ^= ZOBRIST_BOARD_BITSTRINGS[mark.ordinal()][row * 8 + col];
+    private void updateSymmetricHashes(int square, long flipped) {
+        // Gabungkan perubahan kotak yang diisi, kotak yang berpindah, dan pergantian giliran untuk setiap varian
+        long[] boardBitstrings = SYMMETRIC_BOARD_BITSTRINGS[this.currentPlayer.ordinal()];
+        for (int k = 0; k < Bitboards.SYMMETRY_COUNT; k++) {
+            long delta = boardBitstrings[square * Bitboards.SYMMETRY_COUNT + k] ^ ZOBRIST_PLAYER_X_BITSTRING;
+            for (long remaining = flipped; remaining != 0; remaining &= remaining - 1) {
+                delta ^= SYMMETRIC_FLIP_BITSTRINGS[Long.numberOfTrailingZeros(remaining) * Bitboards.SYMMETRY_COUNT + k];
+            }
+            this.symmetricHashes[k] ^= delta;
+        }
     }
 
-    private int heuristicPart(int row, int col) {
-        int count = 0;
-        PlayerMarks toCount = this.currentPlayer == PlayerMarks.X ? PlayerMarks.O : PlayerMarks.X;
+    private int heuristicPart(int square) {
+        long own = this.currentPlayer == PlayerMarks.X ? this.playerXBits : this.playerOBits;
+        long opponent = this.currentPlayer == PlayerMarks.X ? this.playerOBits : this.playerXBits;
+        long empty = this.getEmptyMask();
+        long neighbors = Bitboards.neighbors(square);
 
         // Hitung banyak markah lawan yang bertetanggaan dengan kotak ini
-        if (row > 0 && this.getAt(row - 1, col) == toCount) count++;
-        if (col > 0 && this.getAt(row, col - 1) == toCount) count++;
-        if (row < this.row - 1 && this.getAt(row + 1, col) == toCount) count++;
-        if (col < this.col - 1 && this.getAt(row, col + 1) == toCount) count++;
+        int count = Long.bitCount(neighbors & opponent);
 
         // Periksa apakah ada markah sendiri yang bertetanggaan secara diagonal dan ada kotak kosong
         // yang bertetanggaan dengan kedua kotak
-        if (row > 0 && col > 0 && this.getAt(row - 1, col - 1) == this.currentPlayer &&
-                (this.getAt(row - 1, col) == PlayerMarks.EMPTY || this.getAt(row, col - 1) == PlayerMarks.EMPTY)
-        ) count--;
-        if (row > 0 && col < this.col - 1 && this.getAt(row - 1, col + 1) == this.currentPlayer &&
-                (this.getAt(row - 1, col) == PlayerMarks.EMPTY || this.getAt(row, col + 1) == PlayerMarks.EMPTY)
-        ) count--;
-        if (row < this.row - 1 && col > 0 && this.getAt(row + 1, col - 1) == this.currentPlayer &&
-                (this.getAt(row + 1, col) == PlayerMarks.EMPTY || this.getAt(row, col - 1) == PlayerMarks.EMPTY)
-        ) count--;
-        if (row < this.row - 1 && col < this.col - 1 && this.getAt(row + 1, col + 1) == this.currentPlayer &&
-                (this.getAt(row + 1, col) == PlayerMarks.EMPTY || this.getAt(row, col + 1) == PlayerMarks.EMPTY)
-        ) count--;
+        for (long diagonals = Bitboards.diagonals(square) & own; diagonals != 0; diagonals &= diagonals - 1) {
+            int diagonal = Long.numberOfTrailingZeros(diagonals);
+            if ((neighbors & Bitboards.neighbors(diagonal) & empty) != 0) count--;
+        }
 
         return count;
     }
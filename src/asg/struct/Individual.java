@@ -1,33 +1,39 @@
 package asg.struct;
 
 public class Individual {
-    public Byte[] actions;
-    public Tree<ActionNode> leaf;
-    public Integer fitnessValue;
+    public final byte[] actions;
+    public int leaf = SearchTree.NONE;
+    public int fitnessValue;
 
-    public Individual(Byte[] actions, Tree<ActionNode> leaf){
-        this.actions = new Byte[actions.length];
-        System.arraycopy(actions, 0, this.actions, 0, actions.length);
-        this.leaf = leaf;
-        this.fitnessValue = null;
+    /**
+     * Membuat individu baru dengan genom yang diberikan. Array genom dipakai langsung, tidak disalin.
+     * @param actions Genom individu, yaitu koordinat aksi untuk setiap ply.
+     */
+    public Individual(byte[] actions){
+        this.actions = actions;
     }
 
-    public void setAction(int idx, Byte value){
+    public void setAction(int idx, byte value){
         this.actions[idx] = value;
     }
 
-    public void calcFitnessValue(){
+    /**
+     * Menghitung fitness value individu dari pohon reservasi yang sudah dievaluasi.
+     * @param reservationTree Pohon reservasi yang menyimpan daun milik individu ini.
+     */
+    public void calcFitnessValue(SearchTree reservationTree){
         // Fitness value merupakan banyaknya sebuah node dipilih untuk menjadi nilai parentnya
         this.fitnessValue = 0;
-        Tree<ActionNode> currentTree = this.leaf;
+        int currentNode = this.leaf;
         do {
-            if (currentTree.getValue() == currentTree.getParent().getValue()){
+            int parent = reservationTree.getParent(currentNode);
+            if (reservationTree.getScore(currentNode) == reservationTree.getScore(parent)){
                 this.fitnessValue++;
-                currentTree = currentTree.getParent();
+                currentNode = parent;
             } else {
                 break;
             }
-        } while (currentTree.hasParent());
+        } while (reservationTree.getParent(currentNode) != SearchTree.NONE);
         this.fitnessValue *= this.fitnessValue;
     }
 }
@@ -0,0 +1,191 @@
+package asg.struct;
+
+import java.util.Arrays;
+
+/**
+ * Pohon Monte Carlo Tree Search yang seluruh simpulnya disimpan pada array-array paralel (struct-of-arrays) dengan
+ * akar pada indeks {@link #ROOT}. Setiap simpul menyimpan aksi dari induknya, banyak kunjungan, jumlah hadiah, dan
+ * mask aksi yang belum pernah dicoba. Simpul tidak pernah dibuang satu per satu; pohon dikosongkan sekaligus dengan
+ * {@link #clear(long)} atau diganti dengan salinan salah satu subpohon pohon lain dengan {@link #copyOf(MonteCarloTree, int)}.
+ * <p>
+ * Hadiah dihitung dari sudut pandang pemain yang melakukan aksi menuju simpul tersebut: 2 untuk menang, 1 untuk seri,
+ * dan 0 untuk kalah, sehingga seluruh nilai tetap berupa bilangan bulat.
+ */
+public class MonteCarloTree {
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final int maxSize;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private byte[] moves;
+    private long[] visits;
+    private long[] rewards;
+    private long[] untriedMoves;
+    private int size;
+
+    /**
+     * Membuat pohon yang hanya berisi akar tanpa aksi yang belum dicoba.
+     * @param maxSize Banyak simpul paling banyak, termasuk akar; array-array pohon diperbesar bertahap hingga batas ini.
+     * @throws IllegalArgumentException Jika {@code maxSize} tidak bernilai positif.
+     */
+    public MonteCarloTree(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Maximum size must be positive");
+        this.maxSize = maxSize;
+        int capacity = Math.min(maxSize, DEFAULT_CAPACITY);
+        this.firstChildren = new int[capacity];
+        this.nextSiblings = new int[capacity];
+        this.moves = new byte[capacity];
+        this.visits = new long[capacity];
+        this.rewards = new long[capacity];
+        this.untriedMoves = new long[capacity];
+        this.clear(0);
+    }
+
+    /**
+     * Mengosongkan pohon sehingga hanya tersisa akar yang belum pernah dikunjungi.
+     * @param untriedMoves Bitboard aksi yang dapat dilakukan dari akar.
+     */
+    public void clear(long untriedMoves) {
+        this.size = 1;
+        this.firstChildren[ROOT] = NONE;
+        this.nextSiblings[ROOT] = NONE;
+        this.moves[ROOT] = 0;
+        this.visits[ROOT] = 0;
+        this.rewards[ROOT] = 0;
+        this.untriedMoves[ROOT] = untriedMoves;
+    }
+
+    /**
+     * Mengembalikan banyak simpul pada pohon, termasuk akar.
+     * @return Banyak simpul.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Mengembalikan apakah pohon sudah mencapai batas banyak simpulnya, sehingga tidak dapat dikembangkan lagi.
+     * @return {@code true} jika pohon sudah penuh.
+     */
+    public boolean isFull() {
+        return this.size == this.maxSize;
+    }
+
+    public int getFirstChild(int node) {
+        return this.firstChildren[node];
+    }
+
+    public int getNextSibling(int node) {
+        return this.nextSiblings[node];
+    }
+
+    public byte getMove(int node) {
+        return this.moves[node];
+    }
+
+    public long getVisits(int node) {
+        return this.visits[node];
+    }
+
+    public long getReward(int node) {
+        return this.rewards[node];
+    }
+
+    /**
+     * Mengembalikan bitboard aksi dari simpul ini yang belum memiliki simpul anak.
+     * @param node Indeks simpul.
+     * @return Mask aksi yang belum dicoba.
+     */
+    public long getUntriedMoves(int node) {
+        return this.untriedMoves[node];
+    }
+
+    /**
+     * Mencatat satu kunjungan beserta hadiahnya pada suatu simpul.
+     * @param node Indeks simpul.
+     * @param reward Hadiah bagi pemain yang melakukan aksi menuju simpul ini (0, 1, atau 2).
+     */
+    public void addResult(int node, int reward) {
+        this.visits[node]++;
+        this.rewards[node] += reward;
+    }
+
+    /**
+     * Mencari anak suatu simpul berdasarkan aksinya dengan menelusuri seluruh anaknya.
+     * @param node Indeks simpul induk.
+     * @param move Koordinat aksi anak.
+     * @return Indeks anak, atau {@link #NONE} jika simpul tidak memiliki anak dengan aksi tersebut.
+     */
+    public int getChild(int node, byte move) {
+        for (int child = this.firstChildren[node]; child != NONE; child = this.nextSiblings[child]) {
+            if (this.moves[child] == move) return child;
+        }
+        return NONE;
+    }
+
+    /**
+     * Menambahkan anak yang belum pernah dikunjungi untuk salah satu aksi yang belum dicoba dari suatu simpul.
+     * @param node Indeks simpul induk.
+     * @param square Indeks kotak aksi anak menurut {@code Bitboards}, yang harus termasuk aksi yang belum dicoba.
+     * @param untriedMoves Bitboard aksi yang dapat dilakukan dari anak.
+     * @return Indeks anak yang baru dibuat.
+     * @throws IllegalStateException Jika pohon sudah penuh.
+     */
+    public int addChild(int node, int square, long untriedMoves) {
+        if (this.size == this.maxSize) throw new IllegalStateException("Tree is full");
+        if (this.size == this.visits.length) this.grow();
+
+        int child = this.size++;
+        this.firstChildren[child] = NONE;
+        this.nextSiblings[child] = this.firstChildren[node];
+        this.firstChildren[node] = child;
+        this.moves[child] = Bitboards.coordinateOf(square);
+        this.visits[child] = 0;
+        this.rewards[child] = 0;
+        this.untriedMoves[child] = untriedMoves;
+        this.untriedMoves[node] &= ~(1L << square);
+        return child;
+    }
+
+    /**
+     * Mengganti isi pohon ini dengan salinan subpohon pohon lain, dengan akar subpohon sebagai akar pohon ini.
+     * Simpul yang melebihi batas banyak simpul pohon ini tidak disalin, dan aksinya dikembalikan ke mask aksi yang
+     * belum dicoba milik induknya.
+     * @param source Pohon sumber, yang tidak boleh sama dengan pohon ini.
+     * @param sourceNode Indeks akar subpohon pada pohon sumber.
+     */
+    public void copyOf(MonteCarloTree source, int sourceNode) {
+        if (source == this) throw new IllegalArgumentException("Cannot copy a tree into itself");
+        this.clear(source.untriedMoves[sourceNode]);
+        this.visits[ROOT] = source.visits[sourceNode];
+        this.rewards[ROOT] = source.rewards[sourceNode];
+        this.copyChildren(ROOT, source, sourceNode);
+    }
+
+    private void copyChildren(int node, MonteCarloTree source, int sourceNode) {
+        for (int sourceChild = source.firstChildren[sourceNode]; sourceChild != NONE; sourceChild = source.nextSiblings[sourceChild]) {
+            int square = Bitboards.indexOf(source.moves[sourceChild]);
+            if (this.isFull()) {
+                this.untriedMoves[node] |= 1L << square;
+                continue;
+            }
+            int child = this.addChild(node, square, source.untriedMoves[sourceChild]);
+            this.visits[child] = source.visits[sourceChild];
+            this.rewards[child] = source.rewards[sourceChild];
+            this.copyChildren(child, source, sourceChild);
+        }
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(this.maxSize, this.visits.length * 2L);
+        this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+        this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+        this.moves = Arrays.copyOf(this.moves, capacity);
+        this.visits = Arrays.copyOf(this.visits, capacity);
+        this.rewards = Arrays.copyOf(this.rewards, capacity);
+        this.untriedMoves = Arrays.copyOf(this.untriedMoves, capacity);
+    }
+}
@@ -0,0 +1,308 @@
+package asg.struct;
+
+import java.util.Arrays;
+
+/**
+ * Pohon pencarian ringkas yang seluruh simpulnya disimpan pada array-array paralel (struct-of-arrays). Setiap simpul
+ * dirujuk dengan indeks {@code int}, dengan akar selalu berada pada indeks {@link #ROOT}. Anak-anak suatu simpul
+ * membentuk linked list melalui array anak pertama dan saudara berikutnya, sedangkan pencarian anak berdasarkan
+ * aksinya dilakukan dengan tabel hash open addressing sehingga berjalan dalam waktu konstan.
+ * <p>
+ * Simpul yang dibuang disimpan pada free list untuk dipakai ulang, dan {@link #clear()} mengosongkan pohon tanpa
+ * mengalokasikan ulang array-arraynya. Perubahan struktur pohon tidak aman dilakukan dari beberapa thread, tetapi
+ * nilai simpul-simpul yang berbeda boleh dibaca dan diubah oleh thread yang berbeda.
+ */
+public class SearchTree {
+    public static final int ROOT = 0;
+    // Indeks yang menandakan tidak ada simpul, misalnya induk akar atau anak pertama dari daun
+    public static final int NONE = -1;
+    // Nilai simpul yang belum dievaluasi; nilai evaluasi papan tidak pernah mencapai nilai ini
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final long EMPTY_SLOT = -1;
+
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private byte[] moves;
+    private int[] scores;
+    private int[] stamps;
+    // Banyak indeks yang pernah dipakai, kepala free list, dan banyak simpul yang masih ada (termasuk akar)
+    private int allocated;
+    private int freeList;
+    private int size;
+
+    // Tabel hash dari pasangan (induk, aksi) ke indeks anak, dengan linear probing
+    private long[] slotKeys;
+    private int[] slotNodes;
+    private int slotShift;
+    private int slotCount;
+
+    /**
+     * Membuat pohon yang hanya berisi akar.
+     */
+    public SearchTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Membuat pohon yang hanya berisi akar, dengan kapasitas awal yang diberikan. Kapasitas bertambah dua kali lipat
+     * setiap kali penuh.
+     * @param initialCapacity Banyak simpul yang dapat disimpan sebelum array-array pohon diperbesar.
+     * @throws IllegalArgumentException Jika {@code initialCapacity} tidak bernilai positif.
+     */
+    public SearchTree(int initialCapacity) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("Initial capacity must be positive");
+        this.parents = new int[initialCapacity];
+        this.firstChildren = new int[initialCapacity];
+        this.nextSiblings = new int[initialCapacity];
+        this.moves = new byte[initialCapacity];
+        this.scores = new int[initialCapacity];
+        this.stamps = new int[initialCapacity];
+        this.allocateSlots(initialCapacity);
+        this.clear();
+    }
+
+    /**
+     * Mengosongkan pohon sehingga hanya tersisa akar tanpa nilai. Array-array pohon tidak dialokasikan ulang.
+     */
+    public void clear() {
+        if (this.slotCount > 0) Arrays.fill(this.slotKeys, EMPTY_SLOT);
+        this.slotCount = 0;
+        this.allocated = 1;
+        this.freeList = NONE;
+        this.size = 1;
+        this.parents[ROOT] = NONE;
+        this.firstChildren[ROOT] = NONE;
+        this.nextSiblings[ROOT] = NONE;
+        this.moves[ROOT] = 0;
+        this.scores[ROOT] = NO_SCORE;
+        this.stamps[ROOT] = 0;
+    }
+
+    /**
+     * Mengembalikan banyak simpul pada pohon, termasuk akar.
+     * @return Banyak simpul.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getParent(int node) {
+        return this.parents[node];
+    }
+
+    public int getFirstChild(int node) {
+        return this.firstChildren[node];
+    }
+
+    public int getNextSibling(int node) {
+        return this.nextSiblings[node];
+    }
+
+    public boolean hasChildren(int node) {
+        return this.firstChildren[node] != NONE;
+    }
+
+    /**
+     * Mengembalikan aksi yang dilakukan dari induk simpul untuk mencapai simpul ini.
+     * @param node Indeks simpul selain akar.
+     * @return Koordinat aksi.
+     */
+    public byte getMove(int node) {
+        return this.moves[node];
+    }
+
+    public int getScore(int node) {
+        return this.scores[node];
+    }
+
+    public boolean hasScore(int node) {
+        return this.scores[node] != NO_SCORE;
+    }
+
+    public void setScore(int node, int score) {
+        this.scores[node] = score;
+    }
+
+    public void clearScore(int node) {
+        this.scores[node] = NO_SCORE;
+    }
+
+    /**
+     * Mengembalikan penanda waktu simpul, misalnya nomor generasi terakhir yang melalui simpul ini pada
+     * Genetic Algorithm. Simpul baru memiliki penanda waktu {@code 0}.
+     * @param node Indeks simpul.
+     * @return Penanda waktu simpul.
+     */
+    public int getStamp(int node) {
+        return this.stamps[node];
+    }
+
+    public void setStamp(int node, int stamp) {
+        this.stamps[node] = stamp;
+    }
+
+    /**
+     * Mencari anak suatu simpul berdasarkan aksinya.
+     * @param node Indeks simpul induk.
+     * @param move Koordinat aksi anak.
+     * @return Indeks anak, atau {@link #NONE} jika simpul tidak memiliki anak dengan aksi tersebut.
+     */
+    public int getChild(int node, byte move) {
+        long key = keyOf(node, move);
+        int mask = this.slotKeys.length - 1;
+        for (int slot = this.slotOf(key); ; slot = (slot + 1) & mask) {
+            long slotKey = this.slotKeys[slot];
+            if (slotKey == key) return this.slotNodes[slot];
+            if (slotKey == EMPTY_SLOT) return NONE;
+        }
+    }
+
+    /**
+     * Menambahkan anak baru tanpa nilai ke suatu simpul. Simpul tidak boleh sudah memiliki anak dengan aksi yang sama.
+     * @param node Indeks simpul induk.
+     * @param move Koordinat aksi anak.
+     * @return Indeks anak yang baru dibuat.
+     */
+    public int addChild(int node, byte move) {
+        int child;
+        if (this.freeList != NONE) {
+            child = this.freeList;
+            this.freeList = this.nextSiblings[child];
+        } else {
+            if (this.allocated == this.parents.length) this.grow();
+            child = this.allocated++;
+        }
+        this.size++;
+
+        this.parents[child] = node;
+        this.firstChildren[child] = NONE;
+        this.nextSiblings[child] = this.firstChildren[node];
+        this.firstChildren[node] = child;
+        this.moves[child] = move;
+        this.scores[child] = NO_SCORE;
+        this.stamps[child] = 0;
+
+        if (this.slotCount * 2 >= this.slotKeys.length) this.allocateSlots(this.slotKeys.length);
+        this.insertSlot(keyOf(node, move), child);
+        return child;
+    }
+
+    /**
+     * Menyalin subpohon dari pohon lain sebagai anak baru suatu simpul, beserta nilai dan penanda waktunya.
+     * @param node Indeks simpul induk pada pohon ini.
+     * @param source Pohon sumber.
+     * @param sourceNode Indeks akar subpohon pada pohon sumber, bukan akar pohon sumber.
+     * @return Indeks salinan akar subpohon pada pohon ini.
+     */
+    public int copyChild(int node, SearchTree source, int sourceNode) {
+        int child = this.addChild(node, source.moves[sourceNode]);
+        this.scores[child] = source.scores[sourceNode];
+        this.stamps[child] = source.stamps[sourceNode];
+        for (int sourceChild = source.firstChildren[sourceNode]; sourceChild != NONE; sourceChild = source.nextSiblings[sourceChild]) {
+            this.copyChild(child, source, sourceChild);
+        }
+        return child;
+    }
+
+    /**
+     * Membuang suatu simpul beserta seluruh keturunannya. Nilai induknya tidak diubah.
+     * @param node Indeks simpul selain akar.
+     */
+    public void remove(int node) {
+        int parent = this.parents[node];
+        if (this.firstChildren[parent] == node) {
+            this.firstChildren[parent] = this.nextSiblings[node];
+        } else {
+            int sibling = this.firstChildren[parent];
+            while (this.nextSiblings[sibling] != node) sibling = this.nextSiblings[sibling];
+            this.nextSiblings[sibling] = this.nextSiblings[node];
+        }
+        this.free(node);
+    }
+
+    private void free(int node) {
+        for (int child = this.firstChildren[node]; child != NONE; ) {
+            int next = this.nextSiblings[child];
+            this.free(child);
+            child = next;
+        }
+        this.deleteSlot(keyOf(this.parents[node], this.moves[node]));
+        this.parents[node] = NONE;
+        this.nextSiblings[node] = this.freeList;
+        this.freeList = node;
+        this.size--;
+    }
+
+    private void grow() {
+        int capacity = this.parents.length * 2;
+        this.parents = Arrays.copyOf(this.parents, capacity);
+        this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+        this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+        this.moves = Arrays.copyOf(this.moves, capacity);
+        this.scores = Arrays.copyOf(this.scores, capacity);
+        this.stamps = Arrays.copyOf(this.stamps, capacity);
+    }
+
+    private static long keyOf(int node, byte move) {
+        return (long) node << 8 | (move & 0xFF);
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> this.slotShift);
+    }
+
+    /**
+     * Mengalokasikan tabel hash yang cukup untuk banyak anak yang diberikan dengan load factor paling besar 1/2,
+     * lalu memasukkan ulang seluruh isi tabel lama.
+     */
+    private void allocateSlots(int childCount) {
+        long[] oldKeys = this.slotKeys;
+        int[] oldNodes = this.slotNodes;
+
+        int slots = Integer.highestOneBit(Math.max(2, childCount) * 2 - 1) * 2;
+        this.slotKeys = new long[slots];
+        this.slotNodes = new int[slots];
+        this.slotShift = Long.numberOfLeadingZeros(slots - 1);
+        Arrays.fill(this.slotKeys, EMPTY_SLOT);
+        this.slotCount = 0;
+        if (oldKeys == null) return;
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY_SLOT) this.insertSlot(oldKeys[slot], oldNodes[slot]);
+        }
+    }
+
+    private void insertSlot(long key, int node) {
+        int mask = this.slotKeys.length - 1;
+        int slot = this.slotOf(key);
+        while (this.slotKeys[slot] != EMPTY_SLOT) slot = (slot + 1) & mask;
+        this.slotKeys[slot] = key;
+        this.slotNodes[slot] = node;
+        this.slotCount++;
+    }
+
+    /**
+     * Menghapus kunci dari tabel hash dengan menggeser mundur entri-entri setelahnya, sehingga tabel tidak
+     * memerlukan penanda entri terhapus.
+     */
+    private void deleteSlot(long key) {
+        int mask = this.slotKeys.length - 1;
+        int hole = this.slotOf(key);
+        while (this.slotKeys[hole] != key) hole = (hole + 1) & mask;
+
+        for (int slot = (hole + 1) & mask; this.slotKeys[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            // Entri dapat mengisi lubang jika lubang berada di antara slot asal entri dan slot entri saat ini
+            int home = this.slotOf(this.slotKeys[slot]);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                this.slotKeys[hole] = this.slotKeys[slot];
+                this.slotNodes[hole] = this.slotNodes[slot];
+                hole = slot;
+            }
+        }
+        this.slotKeys[hole] = EMPTY_SLOT;
+        this.slotCount--;
+    }
+}
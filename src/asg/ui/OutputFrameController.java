@@ -76,15 +76,7 @@ public class OutputFrameController {
         this.playerOName.setText(name2);
         this.roundsLeftLabel.setText(rounds.toString());
 
-        this.currentBoard = new Board(firstPlayer, 2 * rounds);
-        this.currentBoard.setAt(Vars.BOARD_ROW_COUNT - 2, 0, PlayerMarks.X);
-        this.currentBoard.setAt(Vars.BOARD_ROW_COUNT - 1, 0, PlayerMarks.X);
-        this.currentBoard.setAt(Vars.BOARD_ROW_COUNT - 2, 1, PlayerMarks.X);
-        this.currentBoard.setAt(Vars.BOARD_ROW_COUNT - 1, 1, PlayerMarks.X);
-        this.currentBoard.setAt(0, Vars.BOARD_COL_COUNT - 2, PlayerMarks.O);
-        this.currentBoard.setAt(0, Vars.BOARD_COL_COUNT - 1, PlayerMarks.O);
-        this.currentBoard.setAt(1, Vars.BOARD_COL_COUNT - 2, PlayerMarks.O);
-        this.currentBoard.setAt(1, Vars.BOARD_COL_COUNT - 1, PlayerMarks.O);
+        this.currentBoard = Board.initial(firstPlayer, rounds);
         this.renderState();
 
         // Get bots
@@ -237,6 +229,11 @@ public class OutputFrameController {
      * Determine and announce the winner of the game.
      */
     private void endOfGame() {
+        // Stop any bot that is still thinking on the opponent's turn
+        for (BotBase bot : new BotBase[]{this.botX, this.botO}) {
+            if (bot != null) bot.stopPondering();
+        }
+
         // Player X is the winner.
         if (this.currentBoard.getPlayerXScore() > this.currentBoard.getPlayerOScore()) {
             new Alert(Alert.AlertType.INFORMATION,
@@ -314,6 +311,11 @@ public class OutputFrameController {
                 new Alert(Alert.AlertType.ERROR, "Bot Invalid Coordinates. Exiting.").showAndWait();
                 System.exit(1);
             }
+
+            // Let the bot think on the opponent's turn; it stops on its own when the bot is asked to move again
+            if (Vars.PONDERING && this.currentBoard.getPliesLeft() > 0) {
+                bot.startPondering(this.currentBoard);
+            }
         });
 
         // If the move task fails, stop the program immediately